@@ -1,25 +1,107 @@
 package my.projects.classroomschedulerapp.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
-    // This configuration class enables asynchronous processing in the application
-    @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(25);
-        executor.setThreadNamePrefix("ScheduleAsync-");
-        executor.initialize();
-        return executor;
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    // Hikari's own default when spring.datasource.hikari.maximum-pool-size is not set
+    private static final int DEFAULT_POOL_SIZE = 10;
+    // Default limits of each bulkhead as {tenths of the connection pool it may run on, queue capacity}; each can
+    // be overridden with app.async.bulkhead.<name>.max-concurrency and app.async.bulkhead.<name>.queue-capacity
+    private static final Map<String, int[]> DEFAULT_LIMITS = Map.of(
+            "read", new int[]{5, 100},
+            "write", new int[]{3, 50},
+            "batch", new int[]{2, 10});
+
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    // Max concurrency of each bulkhead
+    private final Map<String, Integer> maxConcurrency = new HashMap<>();
+
+    // Async methods hold a connection for most of their run, so the bulkheads together may not run more calls
+    // than the pool has connections; a configuration that allows more fails at startup
+    public AsyncConfig(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                DEFAULT_POOL_SIZE);
+        DEFAULT_LIMITS.forEach((name, defaults) -> maxConcurrency.put(name, environment.getProperty(
+                "app.async.bulkhead." + name + ".max-concurrency", Integer.class,
+                Math.max(1, poolSize * defaults[0] / 10))));
+        int total = maxConcurrency.values().stream().mapToInt(Integer::intValue).sum();
+        if (total > poolSize) {
+            throw new IllegalStateException("The async bulkheads may run " + total + " calls at once, more than "
+                    + "the " + poolSize + " connections of the pool; lower app.async.bulkhead.*.max-concurrency "
+                    + "or raise spring.datasource.hikari.maximum-pool-size");
+        }
+    }
+
+    // This configuration class enables asynchronous processing in the application, split into bulkheads so
+    // a burst of one kind of work cannot starve another: cheap lookups, writes, and heavy whole-table or
+    // search jobs. app.async.mode=platform gives each bulkhead a fixed thread pool; virtual starts a virtual
+    // thread per call, which needs Java 21 and fails at startup on older runtimes.
+    @Bean(name = "readExecutor")
+    public Executor readExecutor() {
+        return bulkhead("read");
+    }
+
+    @Bean(name = "writeExecutor")
+    public Executor writeExecutor() {
+        return bulkhead("write");
+    }
+
+    @Bean(name = "batchExecutor")
+    public Executor batchExecutor() {
+        return bulkhead("batch");
+    }
+
+    Executor bulkhead(String name) {
+        String mode = environment.getProperty("app.async.mode", "platform");
+        int maxConcurrency = this.maxConcurrency.get(name);
+        int queueCapacity = environment.getProperty("app.async.bulkhead." + name + ".queue-capacity", Integer.class,
+                DEFAULT_LIMITS.get(name)[1]);
+
+        Bulkhead bulkhead;
+        if ("virtual".equalsIgnoreCase(mode)) {
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("app.async.mode=virtual needs Java 21 or later, running on "
+                        + Runtime.version());
+            }
+            bulkhead = Bulkhead.virtual(name, maxConcurrency, queueCapacity);
+        } else if ("platform".equalsIgnoreCase(mode)) {
+            bulkhead = Bulkhead.platform(name, maxConcurrency, queueCapacity);
+        } else {
+            throw new IllegalStateException("app.async.mode must be platform or virtual, not " + mode);
+        }
+        logger.info("Async bulkhead {} on {} threads: {} running, {} waiting at most",
+                name, mode, maxConcurrency, queueCapacity);
+
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("app.async.bulkhead.active", bulkhead, Bulkhead::active)
+                    .description("Calls running in the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(registry);
+            Gauge.builder("app.async.bulkhead.queued", bulkhead, Bulkhead::queued)
+                    .description("Calls waiting for the bulkhead")
+                    .tag("bulkhead", name)
+                    .register(registry);
+        });
+        return bulkhead.executor();
     }
 }
@@ -0,0 +1,89 @@
+package my.projects.classroomschedulerapp.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One isolated lane of async execution: at most maxConcurrency calls run at once and at most queueCapacity more
+// wait, so one kind of work cannot use up the threads or connections of another. A call beyond that is rejected
+// with a TaskRejectedException right away.
+final class Bulkhead {
+
+    private final String name;
+    private final AsyncTaskExecutor executor;
+    private final ThreadPoolTaskExecutor pool;
+    // Calls admitted to the virtual-thread executor and the ones among them that hold a permit
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private Bulkhead(String name, AsyncTaskExecutor executor, ThreadPoolTaskExecutor pool) {
+        this.name = name;
+        this.executor = executor;
+        this.pool = pool;
+    }
+
+    // A fixed pool of platform threads with a bounded queue
+    static Bulkhead platform(String name, int maxConcurrency, int queueCapacity) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(maxConcurrency);
+        pool.setMaxPoolSize(maxConcurrency);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix(name + "-");
+        // Started by the container, which also shuts it down, since the pool is exposed as a bean
+        return new Bulkhead(name, pool, pool);
+    }
+
+    // A virtual thread per call (Java 21+); calls past maxConcurrency wait for a permit on their own thread.
+    // Async methods hold a connection for most of their run, so the permits also bound database use.
+    static Bulkhead virtual(String name, int maxConcurrency, int queueCapacity) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(name + "-");
+        executor.setVirtualThreads(true);
+        Bulkhead bulkhead = new Bulkhead(name, executor, null);
+        executor.setTaskDecorator(bulkhead.permits(maxConcurrency, queueCapacity));
+        return bulkhead;
+    }
+
+    // Decoration runs on the submitting thread, so it can still turn the call away
+    private TaskDecorator permits(int maxConcurrency, int queueCapacity) {
+        Semaphore semaphore = new Semaphore(maxConcurrency, true);
+        return task -> {
+            if (admitted.incrementAndGet() > maxConcurrency + queueCapacity) {
+                admitted.decrementAndGet();
+                throw new TaskRejectedException("Bulkhead " + name + " is full");
+            }
+            return () -> {
+                // Not interruptible: a task that gave up here would leave its caller's future incomplete
+                semaphore.acquireUninterruptibly();
+                running.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                    semaphore.release();
+                    admitted.decrementAndGet();
+                }
+            };
+        };
+    }
+
+    String name() {
+        return name;
+    }
+
+    AsyncTaskExecutor executor() {
+        return executor;
+    }
+
+    int active() {
+        return pool != null ? pool.getActiveCount() : running.get();
+    }
+
+    int queued() {
+        return pool != null ? pool.getThreadPoolExecutor().getQueue().size() : admitted.get() - running.get();
+    }
+}
@@ -1,34 +1,82 @@
 package my.projects.classroomschedulerapp.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import my.projects.classroomschedulerapp.model.User;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // Default Caffeine spec of every cache; each one can be overridden with app.cache.spec.<cache name>.
+    // Caches holding lists are bounded by weight, where an entry weighs one plus the size of its list.
+    // recordStats feeds the cache.gets, cache.puts and cache.evictions metrics under /actuator/metrics
+    private static final Map<String, String> DEFAULT_SPECS = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_SPECS.put("schedulesByDate", "maximumWeight=50000,expireAfterWrite=5m,recordStats");
+        DEFAULT_SPECS.put("scheduleDetails", "maximumSize=10000,expireAfterWrite=5m,recordStats");
+        // Only userDetails has a loader, so it is the only cache that can be refreshed ahead of expiry
+        DEFAULT_SPECS.put("userDetails", "maximumSize=5000,expireAfterWrite=1h,refreshAfterWrite=10m,recordStats");
+        DEFAULT_SPECS.put("roomDetails", "maximumSize=1000,expireAfterWrite=30m,recordStats");
+        DEFAULT_SPECS.put("programDetails", "maximumSize=1000,expireAfterWrite=30m,recordStats");
+        DEFAULT_SPECS.put("programsByDepartment", "maximumWeight=20000,expireAfterWrite=30m,recordStats");
+        DEFAULT_SPECS.put("departmentDetails", "maximumSize=500,expireAfterWrite=30m,recordStats");
+        DEFAULT_SPECS.put("courseDetails", "maximumSize=5000,expireAfterWrite=30m,recordStats");
+        DEFAULT_SPECS.put("coursesByProgram", "maximumWeight=20000,expireAfterWrite=30m,recordStats");
+    }
+
     // This configuration class enables caching in the application
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(Environment environment, UserRepository userRepository) {
+        List<Cache> caches = new ArrayList<>();
+        // Concurrent misses of one key share a single load in every cache but userDetails, whose loader already does
+        Duration coalesceTimeout = Duration.ofMillis(
+                environment.getProperty("app.cache.coalesce-timeout-ms", Long.class, 10000L));
+        DEFAULT_SPECS.forEach((name, defaultSpec) -> {
+            CaffeineSpec spec = CaffeineSpec.parse(environment.getProperty("app.cache.spec." + name, defaultSpec));
+            Caffeine<Object, Object> builder = Caffeine.from(spec);
+            if (spec.toParsableString().contains("maximumWeight")) {
+                builder.weigher((key, value) -> value instanceof Collection<?> collection ? collection.size() + 1 : 1);
+            }
+            if (name.equals("userDetails")) {
+                // Same lookup as ScheduleService.getUserName, so a refresh yields what a miss would
+                caches.add(new CaffeineCache(name, builder.build(email -> userRepository.findByEmail((String) email)
+                        .map(User::getName)
+                        .orElse((String) email))));
+            } else {
+                caches.add(new CoalescingCache(new CaffeineCache(name, builder.build()), coalesceTimeout));
+            }
+        });
+
         SimpleCacheManager cacheManager = new SimpleCacheManager();
-        cacheManager.setCaches(Arrays.asList(
-                new ConcurrentMapCache("schedulesByDate"),
-                new ConcurrentMapCache("scheduleDetails"),
-                new ConcurrentMapCache("userDetails"),
-                new ConcurrentMapCache("roomDetails"),
-                new ConcurrentMapCache("availableRooms"),
-                new ConcurrentMapCache("programDetails"),
-                new ConcurrentMapCache("programsByDepartment"),
-                new ConcurrentMapCache("departmentDetails"),
-                new ConcurrentMapCache("courseDetails"),
-                new ConcurrentMapCache("coursesByProgram")
-        ));
+        cacheManager.setCaches(caches);
         return cacheManager;
     }
+
+    // Keeps the cache.* metrics of the caches wrapped in a CoalescingCache, which Boot only binds for CaffeineCache
+    @Bean
+    @SuppressWarnings("unchecked")
+    CacheMeterBinderProvider<CoalescingCache> coalescingCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(), cache.getName(), tags);
+    }
 }
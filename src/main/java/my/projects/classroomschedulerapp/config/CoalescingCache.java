@@ -0,0 +1,134 @@
+package my.projects.classroomschedulerapp.config;
+
+import my.projects.classroomschedulerapp.exception.CacheLoadTimeoutException;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Cache whose misses are coalesced per key: the first caller to miss loads the value while every concurrent
+// caller for the same key waits on that load's future instead of querying the database again. Used by the
+// @Cacheable(sync = true) methods, which reach it through get(key, valueLoader)
+final class CoalescingCache implements Cache {
+
+    private final Cache delegate;
+    private final Duration timeout;
+    // Loads in progress; an entry is dropped when its load ends or its key is evicted
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    CoalescingCache(Cache delegate, Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            return (T) await(key, running, valueLoader);
+        }
+        try {
+            // The previous load may have finished between the lookup and the registration
+            cached = delegate.get(key);
+            Object value = cached != null ? cached.get() : valueLoader.call();
+            // An eviction during the load dropped it from inFlight, and its value may predate the change. The store
+            // happens under the key's inFlight lock, which an eviction takes before evicting, so an eviction
+            // either cancels the store or removes the stored value
+            if (cached == null) {
+                inFlight.computeIfPresent(key, (k, current) -> {
+                    if (current != load) {
+                        return current;
+                    }
+                    delegate.put(key, value);
+                    return null;
+                });
+            }
+            load.complete(value);
+            return (T) value;
+        } catch (Throwable ex) {
+            load.completeExceptionally(ex);
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private Object await(Object key, CompletableFuture<Object> running, Callable<?> valueLoader) {
+        try {
+            return running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new CacheLoadTimeoutException("Timed out waiting for " + getName() + " entry " + key + " to load");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        inFlight.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        inFlight.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        inFlight.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        inFlight.clear();
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,97 @@
+package my.projects.classroomschedulerapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only transactions to the replicas in turn and everything else to the primary. A client that
+// committed a write reads from the primary for the lag window afterwards, so it sees its own change even
+// while the replicas are catching up. Must sit behind a LazyConnectionDataSourceProxy, so the connection
+// is only picked once the transaction's read-only flag is known. The pin lives in this node's memory, so
+// with several nodes the load balancer must keep each client on one node (sticky sessions) for the lag window.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    private final List<String> replicaKeys;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // Clients that wrote through this node within the lag window
+    private final Cache<String, Boolean> pinnedClients;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration lagWindow) {
+        this(primary, replicas, lagWindow, Ticker.systemTicker());
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration lagWindow, Ticker ticker) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put("replica-" + i, replicas.get(i));
+        }
+        this.replicaKeys = targets.keySet().stream().map(String.class::cast)
+                .filter(key -> !key.equals(PRIMARY)).sorted().toList();
+        this.pinnedClients = Caffeine.newBuilder().expireAfterWrite(lagWindow).ticker(ticker).build();
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit(client);
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || (client != null && pinnedClients.getIfPresent(client) != null)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // A read-write transaction may write, so its client reads from the primary once it has committed.
+    // Connections taken outside a transaction do not pin: the lazy proxy takes one of those to read the
+    // connection defaults, and pinning on it would send the client's next reads to the primary for nothing.
+    private void pinAfterCommit(String client) {
+        if (client == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinnedClients.put(client, Boolean.TRUE);
+            }
+        });
+    }
+
+    // The authenticated user, or the remote address for anonymous requests; null outside of a request
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return "address:" + request.getRemoteAddr();
+        }
+        return null;
+    }
+}
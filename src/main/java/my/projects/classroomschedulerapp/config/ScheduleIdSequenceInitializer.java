@@ -0,0 +1,58 @@
+package my.projects.classroomschedulerapp.config;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Moves the schedule id sequence past ids that were assigned by the identity column before schedules
+// switched to a pooled sequence, so upgraded databases do not hand out ids that are already taken.
+// Runs before the sample data is inserted.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ScheduleIdSequenceInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleIdSequenceInitializer.class);
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScheduleIdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM schedules", Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        // The pooled optimizer treats the value it reads as the top of a block, so the block below it
+        // has to start after the current maximum id
+        long nextValue = maxId + Schedule.ID_ALLOCATION_SIZE;
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+
+        if ("MySQL".equalsIgnoreCase(database)) {
+            // MySQL has no sequences, so Hibernate keeps the next value in a single-row table
+            int updated = jdbcTemplate.update("UPDATE schedules_seq SET next_val = ? WHERE next_val < ?",
+                    nextValue, nextValue);
+            if (updated > 0) {
+                logger.info("Moved schedule id sequence to {}", nextValue);
+            }
+        } else if ("H2".equalsIgnoreCase(database)) {
+            Long currentValue = jdbcTemplate.queryForObject(
+                    "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'SCHEDULES_SEQ'",
+                    Long.class);
+            if (currentValue != null && currentValue < nextValue) {
+                jdbcTemplate.execute("ALTER SEQUENCE schedules_seq RESTART WITH " + nextValue);
+                logger.info("Moved schedule id sequence to {}", nextValue);
+            }
+        } else {
+            logger.warn("Cannot check the schedule id sequence on {}; make sure it is past id {}", database, maxId);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package my.projects.classroomschedulerapp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // This configuration class enables the periodic jobs, such as polling for cache invalidations
+}
@@ -0,0 +1,41 @@
+package my.projects.classroomschedulerapp.controller;
+
+import my.projects.classroomschedulerapp.dto.MeetingAssignmentDto;
+import my.projects.classroomschedulerapp.dto.PlacementRequestDto;
+import my.projects.classroomschedulerapp.dto.PlacementResultDto;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.service.PlacementService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/placements")
+public class PlacementController {
+
+    private final PlacementService placementService;
+
+    public PlacementController(PlacementService placementService) {
+        this.placementService = placementService;
+    }
+
+    // This endpoint allows for choosing rooms and times for course meetings asynchronously, without saving them
+    @PostMapping
+    public CompletableFuture<ResponseEntity<PlacementResultDto>> solvePlacementAsync(
+            @RequestBody PlacementRequestDto request) {
+        return placementService.solveAsync(request)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    // This endpoint allows for booking placed meetings as schedules in a single batch
+    @PostMapping("/commit")
+    public ResponseEntity<List<ScheduleDto>> commitPlacement(@RequestBody List<MeetingAssignmentDto> assignments) {
+        return new ResponseEntity<>(placementService.commit(assignments), HttpStatus.CREATED);
+    }
+}
@@ -1,6 +1,8 @@
 package my.projects.classroomschedulerapp.controller;
 
+import my.projects.classroomschedulerapp.dto.AvailableSlotDto;
 import my.projects.classroomschedulerapp.dto.RoomDto;
+import my.projects.classroomschedulerapp.dto.SlotSearchRequestDto;
 import my.projects.classroomschedulerapp.service.RoomService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -73,4 +75,13 @@ public class RoomController {
         return roomService.findAvailableRoomsAsync(date, startTime, endTime)
                 .thenApply(ResponseEntity::ok);
     }
+
+    // This endpoint allows for finding the earliest free slots of a given duration
+    // across rooms and days asynchronously
+    @GetMapping("/available/slots")
+    public CompletableFuture<ResponseEntity<List<AvailableSlotDto>>> findAvailableSlotsAsync(
+            SlotSearchRequestDto request) {
+        return roomService.findAvailableSlotsAsync(request)
+                .thenApply(ResponseEntity::ok);
+    }
 }
\ No newline at end of file
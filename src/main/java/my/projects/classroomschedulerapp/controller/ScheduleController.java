@@ -1,15 +1,25 @@
 package my.projects.classroomschedulerapp.controller;
 
+import my.projects.classroomschedulerapp.dto.BatchDeleteResultDto;
 import my.projects.classroomschedulerapp.dto.BatchStatusUpdateRequestDto;
+import my.projects.classroomschedulerapp.dto.BatchStatusUpdateResultDto;
 import my.projects.classroomschedulerapp.dto.RecurringScheduleRequestDto;
+import my.projects.classroomschedulerapp.dto.ScheduleConflictReportDto;
 import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.dto.SchedulePageDto;
+import my.projects.classroomschedulerapp.dto.SchedulePageRequestDto;
+import my.projects.classroomschedulerapp.event.ScheduleChange;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
 import my.projects.classroomschedulerapp.exception.ResourceNotFoundException;
 import my.projects.classroomschedulerapp.model.Schedule;
 import my.projects.classroomschedulerapp.model.User;
 import my.projects.classroomschedulerapp.repository.UserRepository;
+import my.projects.classroomschedulerapp.service.ScheduleChangeFeed;
+import my.projects.classroomschedulerapp.service.ScheduleExportService;
 import my.projects.classroomschedulerapp.service.ScheduleService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,12 +28,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 
 @RestController
@@ -31,10 +46,15 @@ import java.util.concurrent.CompletableFuture;
 public class ScheduleController {
 
     private final ScheduleService scheduleService;
+    private final ScheduleExportService scheduleExportService;
+    private final ScheduleChangeFeed scheduleChangeFeed;
     private final UserRepository userRepository;
 
-    public ScheduleController(ScheduleService scheduleService, UserRepository userRepository) {
+    public ScheduleController(ScheduleService scheduleService, ScheduleExportService scheduleExportService,
+                              ScheduleChangeFeed scheduleChangeFeed, UserRepository userRepository) {
         this.scheduleService = scheduleService;
+        this.scheduleExportService = scheduleExportService;
+        this.scheduleChangeFeed = scheduleChangeFeed;
         this.userRepository = userRepository;
     }
 
@@ -45,6 +65,80 @@ public class ScheduleController {
                 .thenApply(ResponseEntity::ok);
     }
 
+    // This endpoint allows for paging through schedules, optionally filtered by date range, room, user and status.
+    // Pass the nextCursor of a page as the cursor parameter to get the following page.
+    @GetMapping("/page")
+    public ResponseEntity<SchedulePageDto> getSchedulesPage(SchedulePageRequestDto request) {
+        return ResponseEntity.ok(scheduleService.getSchedulesPage(request));
+    }
+
+    // This endpoint allows for exporting every schedule, streamed as NDJSON (the default) or as one JSON array
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSchedules(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ScheduleExportService.Format exportFormat;
+        try {
+            exportFormat = ScheduleExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("format must be json or ndjson");
+        }
+        MediaType mediaType = exportFormat == ScheduleExportService.Format.JSON
+                ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(out -> scheduleExportService.exportSchedules(exportFormat, out));
+    }
+
+    // This endpoint allows for following schedule changes as server-sent events instead of polling the listings,
+    // optionally filtered by date, room, building and user. Each "schedule" event carries one change, whichever
+    // node committed it. Reconnecting with the Last-Event-ID header (or the lastEventId parameter) resumes after
+    // that event on any node; a "reset" event instead means the changes since then are gone and the client has to
+    // reload what it shows. A client that falls too far behind is disconnected and resumes the same way.
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScheduleChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) Long buildingId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        ScheduleChangeFeed.Filter filter = scheduleChangeFeed.filter(date, roomId, buildingId, userId);
+        // Times out with spring.mvc.async.request-timeout; EventSource clients reconnect and resume by themselves
+        SseEmitter emitter = new SseEmitter();
+        Runnable unsubscribe = scheduleChangeFeed.subscribe(filter,
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId, new ScheduleChangeFeed.Subscriber() {
+                    @Override
+                    public void start(String position) throws IOException {
+                        emitter.send(SseEmitter.event().id(position).name("ready").data(""));
+                    }
+
+                    @Override
+                    public void send(ScheduleChange change) throws IOException {
+                        emitter.send(SseEmitter.event().id(change.id()).name("schedule")
+                                .data(change, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void reset(String position) throws IOException {
+                        emitter.send(SseEmitter.event().id(position).name("reset").data(""));
+                    }
+
+                    @Override
+                    public void heartbeat(String position) throws IOException {
+                        emitter.send(SseEmitter.event().id(position).comment("heartbeat"));
+                    }
+
+                    @Override
+                    public void close() {
+                        emitter.complete();
+                    }
+                });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
     // This endpoint allows for retrieving a schedule by its ID asynchronously
     @GetMapping("/{id}")
     public CompletableFuture<ResponseEntity<ScheduleDto>> getScheduleByIdAsync(@PathVariable Long id) {
@@ -95,6 +189,13 @@ public class ScheduleController {
         return ResponseEntity.ok(scheduleService.getSchedulesByUser(userId));
     }
 
+    // This endpoint allows for paging through the schedules of a user
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<SchedulePageDto> getSchedulesPageByUser(@PathVariable Long userId,
+                                                                  SchedulePageRequestDto request) {
+        return ResponseEntity.ok(scheduleService.getSchedulesPageByUser(userId, request));
+    }
+
     // This endpoint allows for filtering schedules by email
     @GetMapping("/email/{email}")
     public ResponseEntity<List<ScheduleDto>> getSchedulesByEmail(@PathVariable String email) {
@@ -102,6 +203,13 @@ public class ScheduleController {
         return ResponseEntity.ok(schedules);
     }
 
+    // This endpoint allows for paging through the schedules of a user by email
+    @GetMapping("/email/{email}/page")
+    public ResponseEntity<SchedulePageDto> getSchedulesPageByEmail(@PathVariable String email,
+                                                                   SchedulePageRequestDto request) {
+        return ResponseEntity.ok(scheduleService.getSchedulesPageByEmail(email, request));
+    }
+
     // This endpoint allows for creating a recurring schedule asynchronously
     @PostMapping("/recurring")
     public CompletableFuture<ResponseEntity<List<ScheduleDto>>> createRecurringScheduleAsync(
@@ -114,19 +222,38 @@ public class ScheduleController {
     @PatchMapping("/batch/status")
     public ResponseEntity<List<ScheduleDto>> updateScheduleStatusBatch(
             @RequestBody BatchStatusUpdateRequestDto request) {
-        // TODO: Implement authentication and authorization checks
-        User currentUser = userRepository.findByEmail("admin@college.edu")
-                .orElseThrow(() -> new ResourceNotFoundException("Admin user not found"));
-
+        User currentUser = currentUser();
         List<ScheduleDto> updatedSchedules = scheduleService.updateScheduleStatusBatch(
                 request.getIds(), request.getStatus(), currentUser);
         return ResponseEntity.ok(updatedSchedules);
     }
 
-    // This endpoint allows for batch deletion of schedules
+    // This endpoint allows for batch updating of schedule statuses, returning only the updated ids and counts
+    @PatchMapping("/batch/status/summary")
+    public ResponseEntity<BatchStatusUpdateResultDto> updateScheduleStatusBatchSummary(
+            @RequestBody BatchStatusUpdateRequestDto request) {
+        User currentUser = currentUser();
+        return ResponseEntity.ok(scheduleService.updateScheduleStatusBatchSummary(
+                request.getIds(), request.getStatus(), currentUser));
+    }
+
+    // The user the batch status changes are recorded as made by
+    private User currentUser() {
+        // TODO: Implement authentication and authorization checks
+        return userRepository.findByEmail("admin@college.edu")
+                .orElseThrow(() -> new ResourceNotFoundException("Admin user not found"));
+    }
+
+    // This endpoint allows for batch deletion of schedules, reporting the ids that did not exist
     @DeleteMapping("/batch")
-    public ResponseEntity<Void> deleteSchedulesBatch(@RequestBody List<Long> ids) {
-        scheduleService.deleteSchedulesBatch(ids);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<BatchDeleteResultDto> deleteSchedulesBatch(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(scheduleService.deleteSchedulesBatch(ids));
+    }
+
+    // This endpoint allows for checking candidate schedules for conflicts without saving them
+    @PostMapping("/batch/check")
+    public ResponseEntity<List<ScheduleConflictReportDto>> checkScheduleConflictsBatch(
+            @RequestBody List<ScheduleDto> candidates) {
+        return ResponseEntity.ok(scheduleService.checkScheduleConflictsBatch(candidates));
     }
 }
\ No newline at end of file
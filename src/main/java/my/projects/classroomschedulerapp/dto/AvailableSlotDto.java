@@ -0,0 +1,22 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlotDto {
+    private Long roomId;
+    private String roomNumber;
+    private Long buildingId;
+    private String buildingName;
+    private int capacity;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
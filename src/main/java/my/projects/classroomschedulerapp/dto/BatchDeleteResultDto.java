@@ -0,0 +1,17 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDeleteResultDto {
+    // Distinct ids in the request
+    private int requested;
+    private int deleted;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,17 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStatusUpdateResultDto {
+    // Distinct ids in the request
+    private int requested;
+    private int updated;
+    private List<Long> updatedIds;
+}
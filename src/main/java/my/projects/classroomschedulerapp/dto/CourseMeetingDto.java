@@ -0,0 +1,21 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseMeetingDto {
+    private Long courseId;
+    // Instructor teaching the meeting
+    private Long userId;
+    private RecurrencePatternDto recurrencePattern;
+    private int durationMinutes;
+    private int minCapacity;
+    private boolean needsProjector;
+    private boolean needsComputers;
+    // Optional building the room has to be in
+    private Long buildingId;
+}
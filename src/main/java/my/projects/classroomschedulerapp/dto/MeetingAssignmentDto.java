@@ -0,0 +1,23 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingAssignmentDto {
+    // Position of the meeting in the placement request
+    private int meetingIndex;
+    private Long courseId;
+    private Long userId;
+    private Long roomId;
+    private String roomNumber;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private RecurrencePatternDto recurrencePattern;
+    private int occurrences;
+}
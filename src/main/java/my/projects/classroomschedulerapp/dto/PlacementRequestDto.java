@@ -0,0 +1,22 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacementRequestDto {
+    private List<CourseMeetingDto> meetings;
+    // Daily window every meeting has to fit in
+    private LocalTime earliestStart = LocalTime.of(7, 0);
+    private LocalTime latestEnd = LocalTime.of(21, 0);
+    // Granularity of candidate start times
+    private int stepMinutes = 30;
+    // Optional override of the configured search time budget
+    private Long timeBudgetMillis;
+}
@@ -0,0 +1,19 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlacementResultDto {
+    private List<MeetingAssignmentDto> assignments;
+    // Indexes of meetings no conflict-free room and time was found for
+    private List<Integer> unplacedMeetings;
+    private boolean complete;
+    private int attempts;
+    private long elapsedMillis;
+}
@@ -0,0 +1,29 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictReportDto {
+    // Position of the candidate in the submitted list
+    private int index;
+    private Long roomId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private boolean valid;
+    private boolean conflicting;
+    private List<String> errors = new ArrayList<>();
+    // Ids of existing schedules the candidate overlaps
+    private List<Long> conflictingScheduleIds = new ArrayList<>();
+    // Indexes of other candidates in the same list the candidate overlaps
+    private List<Integer> conflictingCandidates = new ArrayList<>();
+}
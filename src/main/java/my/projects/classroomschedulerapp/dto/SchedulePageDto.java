@@ -0,0 +1,17 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulePageDto {
+    // Ordered by date, start time and id
+    private List<ScheduleDto> schedules;
+    // Cursor of the following page, or null when this is the last one
+    private String nextCursor;
+}
@@ -0,0 +1,24 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import my.projects.classroomschedulerapp.model.Schedule;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Query parameters of a schedule listing page; every filter is optional
+@Data
+@NoArgsConstructor
+public class SchedulePageRequestDto {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+    private Long roomId;
+    private Long userId;
+    private Schedule.Status status;
+    // nextCursor of the previous page, or empty for the first page
+    private String cursor;
+    private Integer limit;
+}
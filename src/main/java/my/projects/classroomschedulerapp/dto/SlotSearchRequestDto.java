@@ -0,0 +1,30 @@
+package my.projects.classroomschedulerapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotSearchRequestDto {
+    private int durationMinutes;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+    private Long buildingId;
+    private Integer minCapacity;
+    private Boolean hasProjector;
+    private Boolean hasComputers;
+    // Daily window the slot has to fit in
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    private LocalTime earliestStart = LocalTime.of(7, 0);
+    @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+    private LocalTime latestEnd = LocalTime.of(21, 0);
+    private int limit = 10;
+}
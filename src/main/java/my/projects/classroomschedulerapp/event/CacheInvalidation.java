@@ -0,0 +1,13 @@
+package my.projects.classroomschedulerapp.event;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+// Cache keys made stale by one committed change, in the form every node can apply to its own caches:
+// schedule ids and dates are evicted directly, rooms also evict the cached schedules that show them.
+// Room-days name the bookings the change touched, which every node reloads into its in-memory indexes.
+// The schedule changes themselves travel along for the change feed of every node.
+public record CacheInvalidation(Set<Long> scheduleIds, Set<LocalDate> dates, Set<Long> roomIds,
+                                Set<RoomDay> roomDays, List<ScheduleChange> changes) {
+}
@@ -0,0 +1,23 @@
+package my.projects.classroomschedulerapp.event;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Carries cache invalidations from the node that committed a change to the other nodes, each of which
+// keeps its own local caches. Invalidations are idempotent, so a transport may deliver one more than once.
+// Every broadcast also goes into a change log shared by all nodes, which followers read in full and in order.
+public interface CacheInvalidationTransport {
+
+    // Send an invalidation to every other node; called after the change has committed
+    void broadcast(CacheInvalidation invalidation);
+
+    // Receive the invalidations broadcast by other nodes, never this node's own
+    void subscribe(Consumer<CacheInvalidation> receiver);
+
+    // Receive every invalidation entering the log from now on, this node's own included, once each and in log
+    // order. Returns the id of the last invalidation logged before the first one the follower receives.
+    long follow(Consumer<LoggedInvalidation> follower);
+
+    // The logged invalidations with ids after afterId up to toId, or null when some of them were purged from the log
+    List<LoggedInvalidation> replay(long afterId, long toId);
+}
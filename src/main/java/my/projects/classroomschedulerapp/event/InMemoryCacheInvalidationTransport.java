@@ -0,0 +1,88 @@
+package my.projects.classroomschedulerapp.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Stand-in transport for tests and single-node runs: nodes are transports connected to the same
+// in-memory bus, and a broadcast is delivered synchronously to all of them but the sender. The bus
+// numbers the broadcasts and keeps the latest HISTORY_SIZE of them as the change log.
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "memory")
+public class InMemoryCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final int HISTORY_SIZE = 10000;
+    private final Bus bus;
+    private final List<Consumer<CacheInvalidation>> receivers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<LoggedInvalidation>> followers = new CopyOnWriteArrayList<>();
+
+    public InMemoryCacheInvalidationTransport() {
+        this(new Bus());
+    }
+
+    private InMemoryCacheInvalidationTransport(Bus bus) {
+        this.bus = bus;
+        bus.nodes.add(this);
+    }
+
+    // Another node on the same bus
+    public InMemoryCacheInvalidationTransport connect() {
+        return new InMemoryCacheInvalidationTransport(bus);
+    }
+
+    // Delivering under the bus lock keeps every follower in log order
+    @Override
+    public void broadcast(CacheInvalidation invalidation) {
+        synchronized (bus) {
+            LoggedInvalidation logged = new LoggedInvalidation(++bus.lastId, invalidation);
+            bus.history.addLast(logged);
+            if (bus.history.size() > HISTORY_SIZE) {
+                bus.history.removeFirst();
+            }
+            for (InMemoryCacheInvalidationTransport node : bus.nodes) {
+                if (node != this) {
+                    node.receivers.forEach(receiver -> receiver.accept(invalidation));
+                }
+                node.followers.forEach(follower -> follower.accept(logged));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> receiver) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public long follow(Consumer<LoggedInvalidation> follower) {
+        synchronized (bus) {
+            followers.add(follower);
+            return bus.lastId;
+        }
+    }
+
+    @Override
+    public List<LoggedInvalidation> replay(long afterId, long toId) {
+        synchronized (bus) {
+            if (bus.history.isEmpty() || afterId >= toId) {
+                return List.of();
+            }
+            if (bus.history.getFirst().id() > afterId + 1) {
+                return null;
+            }
+            return bus.history.stream().filter(logged -> logged.id() > afterId && logged.id() <= toId).toList();
+        }
+    }
+
+    private static final class Bus {
+        private final List<InMemoryCacheInvalidationTransport> nodes = new CopyOnWriteArrayList<>();
+        // Guarded by the bus itself
+        private final Deque<LoggedInvalidation> history = new ArrayDeque<>();
+        private long lastId;
+    }
+}
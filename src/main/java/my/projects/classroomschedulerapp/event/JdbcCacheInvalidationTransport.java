@@ -0,0 +1,151 @@
+package my.projects.classroomschedulerapp.event;
+
+import my.projects.classroomschedulerapp.model.CacheInvalidationRecord;
+import my.projects.classroomschedulerapp.repository.CacheInvalidationRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Default transport: broadcasts go to the cache_invalidations change-log table and every node polls it,
+// so replicas only need the database they already share. A node evicts at most one poll interval after
+// another node's change was logged. The table is the change log: its ids are the log ids, followers get
+// each record once lastId passes it, and replays read it back for as long as the retention keeps it.
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcCacheInvalidationTransport.class);
+    private static final int POLL_BATCH_SIZE = 500;
+    private final CacheInvalidationRecordRepository recordRepository;
+    // Broadcasts happen after the change committed, so they need a transaction of their own
+    private final TransactionTemplate broadcastTransaction;
+    private final long gapTimeoutMs;
+    private final long retentionMinutes;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> receivers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<LoggedInvalidation>> followers = new CopyOnWriteArrayList<>();
+
+    // Every record up to this id has been delivered or given up on
+    private long lastId;
+    // Records above lastId that were already delivered to the receivers, and are held back from the followers
+    private final NavigableMap<Long, CacheInvalidation> deliveredAbove = new TreeMap<>();
+    // When the missing record right after lastId was first noticed, or 0 if there is none
+    private long gapSinceMs;
+
+    public JdbcCacheInvalidationTransport(CacheInvalidationRecordRepository recordRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${app.cache.invalidation.gap-timeout-ms:10000}") long gapTimeoutMs,
+                                          @Value("${app.cache.invalidation.retention-minutes:10}") long retentionMinutes) {
+        this.recordRepository = recordRepository;
+        this.broadcastTransaction = new TransactionTemplate(transactionManager);
+        this.broadcastTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.retentionMinutes = retentionMinutes;
+        // Caches start empty, so older invalidations are irrelevant to this node
+        this.lastId = recordRepository.findMaxId();
+    }
+
+    @Override
+    public void broadcast(CacheInvalidation invalidation) {
+        try {
+            broadcastTransaction.executeWithoutResult(status ->
+                    recordRepository.save(new CacheInvalidationRecord(nodeId, invalidation)));
+        } catch (DataAccessException e) {
+            // The change itself is committed; other nodes fall back to the cache expiry
+            logger.warn("Could not broadcast cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> receiver) {
+        receivers.add(receiver);
+    }
+
+    @Override
+    public synchronized long follow(Consumer<LoggedInvalidation> follower) {
+        followers.add(follower);
+        return lastId;
+    }
+
+    // Records are purged by age, which follows the ids, so records after afterId are gone only when the oldest
+    // one left comes later than the next id. The newest record is never purged, so an empty log was never written.
+    @Override
+    public List<LoggedInvalidation> replay(long afterId, long toId) {
+        Long oldestId = recordRepository.findMinId();
+        if (oldestId == null || afterId >= toId) {
+            return List.of();
+        }
+        if (oldestId > afterId + 1) {
+            return null;
+        }
+        return recordRepository.findByIdBetweenOrderByIdAsc(afterId + 1, toId).stream()
+                .map(record -> new LoggedInvalidation(record.getId(), record.toInvalidation()))
+                .toList();
+    }
+
+    // Deliver the records other nodes logged since the last poll, and to the followers every record lastId passes
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        List<CacheInvalidationRecord> records =
+                recordRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(POLL_BATCH_SIZE));
+        for (CacheInvalidationRecord record : records) {
+            if (!deliveredAbove.containsKey(record.getId())) {
+                CacheInvalidation invalidation = record.toInvalidation();
+                deliveredAbove.put(record.getId(), invalidation);
+                if (!nodeId.equals(record.getNodeId())) {
+                    receivers.forEach(receiver -> receiver.accept(invalidation));
+                }
+            }
+        }
+
+        // Ids are taken before the insert commits, so a lower id can show up after a higher one.
+        // lastId only moves past a missing id once it has stayed missing for the gap timeout.
+        while (!deliveredAbove.isEmpty()) {
+            if (deliveredAbove.firstKey() == lastId + 1) {
+                Map.Entry<Long, CacheInvalidation> next = deliveredAbove.pollFirstEntry();
+                lastId = next.getKey();
+                gapSinceMs = 0;
+                LoggedInvalidation logged = new LoggedInvalidation(lastId, next.getValue());
+                followers.forEach(follower -> follower.accept(logged));
+                continue;
+            }
+            long now = System.currentTimeMillis();
+            if (gapSinceMs == 0) {
+                gapSinceMs = now;
+            }
+            if (now - gapSinceMs < gapTimeoutMs) {
+                break;
+            }
+            // Rolled back inserts leave permanent gaps
+            lastId = deliveredAbove.firstKey() - 1;
+            gapSinceMs = 0;
+        }
+    }
+
+    // Drop records every node has long since polled, but for the newest, which tells replays how far the log went
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.purge-interval-ms:60000}")
+    public void purge() {
+        int purged = recordRepository.deleteCreatedBeforeAndIdBelow(
+                LocalDateTime.now().minusMinutes(retentionMinutes), recordRepository.findMaxId());
+        if (purged > 0) {
+            logger.debug("Purged {} cache invalidation records", purged);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package my.projects.classroomschedulerapp.event;
+
+// An invalidation as kept in the change log, under the id the log gave it. Ids grow in log order and mean
+// the same on every node.
+public record LoggedInvalidation(long id, CacheInvalidation invalidation) {
+}
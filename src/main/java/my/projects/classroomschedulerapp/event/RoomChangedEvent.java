@@ -0,0 +1,7 @@
+package my.projects.classroomschedulerapp.event;
+
+// Published inside the transaction that creates, updates or deletes a room. Cached schedules show the room number,
+// and deleting a room deletes its schedules, so both affect cached schedule views as well. Other nodes also
+// re-read the room into their room catalog.
+public record RoomChangedEvent(Long roomId) {
+}
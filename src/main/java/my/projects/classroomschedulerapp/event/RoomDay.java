@@ -0,0 +1,7 @@
+package my.projects.classroomschedulerapp.event;
+
+import java.time.LocalDate;
+
+// Key of a single room on a single date, the unit in which bookings are indexed in memory
+public record RoomDay(Long roomId, LocalDate date) {
+}
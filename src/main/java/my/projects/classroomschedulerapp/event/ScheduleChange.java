@@ -0,0 +1,33 @@
+package my.projects.classroomschedulerapp.event;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+
+import java.time.LocalDate;
+
+// One committed change to a schedule, as pushed to change feed subscribers. previousDate and previousRoomId are
+// only set when an update moved the schedule, so subscribers watching its old date or room learn it left.
+// The id is assigned by the feed from the change's place in the change log.
+public record ScheduleChange(String id, Type type, Long scheduleId, LocalDate date, LocalDate previousDate,
+                             Long roomId, Long previousRoomId, Long userId, Schedule.Status status) {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    public static ScheduleChange of(Type type, Schedule schedule) {
+        return new ScheduleChange(null, type, schedule.getId(), schedule.getDate(), null,
+                schedule.getRoom().getId(), null, schedule.getUser().getId(), schedule.getStatus());
+    }
+
+    // A schedule that was moved from another date or room by an update
+    public static ScheduleChange moved(Schedule schedule, LocalDate previousDate, Long previousRoomId) {
+        return new ScheduleChange(null, Type.UPDATED, schedule.getId(), schedule.getDate(),
+                previousDate.equals(schedule.getDate()) ? null : previousDate, schedule.getRoom().getId(),
+                previousRoomId.equals(schedule.getRoom().getId()) ? null : previousRoomId,
+                schedule.getUser().getId(), schedule.getStatus());
+    }
+
+    public ScheduleChange withId(String id) {
+        return new ScheduleChange(id, type, scheduleId, date, previousDate, roomId, previousRoomId, userId, status);
+    }
+}
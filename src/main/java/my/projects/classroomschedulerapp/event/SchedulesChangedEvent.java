@@ -0,0 +1,41 @@
+package my.projects.classroomschedulerapp.event;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Published inside the transaction that creates, changes or deletes schedules. It names every schedule id
+// and every date whose cached views the change affects, and every room-day whose bookings it changes,
+// including the date and room-day a schedule was moved away from, along with the changes for the change feed.
+public record SchedulesChangedEvent(Set<Long> scheduleIds, Set<LocalDate> dates, Set<RoomDay> roomDays,
+                                    List<ScheduleChange> changes) {
+
+    public static SchedulesChangedEvent of(ScheduleChange.Type type, Collection<Schedule> schedules) {
+        return of(schedules, schedules.stream().map(schedule -> ScheduleChange.of(type, schedule)).toList());
+    }
+
+    // A schedule that may have left another room-day
+    public static SchedulesChangedEvent moved(Schedule schedule, LocalDate previousDate, Long previousRoomId) {
+        SchedulesChangedEvent event = of(List.of(schedule),
+                List.of(ScheduleChange.moved(schedule, previousDate, previousRoomId)));
+        event.dates().add(previousDate);
+        event.roomDays().add(new RoomDay(previousRoomId, previousDate));
+        return event;
+    }
+
+    private static SchedulesChangedEvent of(Collection<Schedule> schedules, List<ScheduleChange> changes) {
+        Set<Long> ids = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        Set<RoomDay> roomDays = new HashSet<>();
+        for (Schedule schedule : schedules) {
+            ids.add(schedule.getId());
+            dates.add(schedule.getDate());
+            roomDays.add(new RoomDay(schedule.getRoom().getId(), schedule.getDate()));
+        }
+        return new SchedulesChangedEvent(ids, dates, roomDays, changes);
+    }
+}
@@ -0,0 +1,11 @@
+package my.projects.classroomschedulerapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CacheLoadTimeoutException extends RuntimeException {
+    public CacheLoadTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,8 @@
 package my.projects.classroomschedulerapp.exception;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -13,6 +16,12 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final long retryAfterSeconds;
+
+    public GlobalExceptionHandler(@Value("${app.async.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Object> handleResourceNotFoundException(
             ResourceNotFoundException ex, WebRequest request) {
@@ -25,6 +34,44 @@ public class GlobalExceptionHandler {
         return createErrorResponse(ex.getMessage(), HttpStatus.CONFLICT, request);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Object> handleInvalidRequestException(
+            InvalidRequestException ex, WebRequest request) {
+        return createErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, request);
+    }
+
+    // An async bulkhead is full; the request can be retried once it drains
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Object> handleTaskRejectedException(
+            TaskRejectedException ex, WebRequest request) {
+        ResponseEntity<Object> response = createErrorResponse("Too many requests in progress, please retry later",
+                HttpStatus.TOO_MANY_REQUESTS, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
+    }
+
+    // Another request's load of the same cache entry is taking too long; it can be retried shortly
+    @ExceptionHandler(CacheLoadTimeoutException.class)
+    public ResponseEntity<Object> handleCacheLoadTimeoutException(
+            CacheLoadTimeoutException ex, WebRequest request) {
+        ResponseEntity<Object> response = createErrorResponse("The requested data is still loading, please retry later",
+                HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
+    }
+
+    // The room occupancy index is still loading after a start; it can be retried shortly
+    @ExceptionHandler(OccupancyLoadingException.class)
+    public ResponseEntity<Object> handleOccupancyLoadingException(
+            OccupancyLoadingException ex, WebRequest request) {
+        ResponseEntity<Object> response = createErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGlobalException(
             Exception ex, WebRequest request) {
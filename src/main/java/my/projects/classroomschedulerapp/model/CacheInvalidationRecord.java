@@ -0,0 +1,116 @@
+package my.projects.classroomschedulerapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import my.projects.classroomschedulerapp.event.CacheInvalidation;
+import my.projects.classroomschedulerapp.event.RoomDay;
+import my.projects.classroomschedulerapp.event.ScheduleChange;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Change-log row through which a node broadcasts a cache invalidation to the other nodes polling the table.
+// Keys are stored as comma-separated lists; a room-day is written as roomId:date, and a schedule change as its
+// fields in declaration order after the id, separated by colons and left empty when null.
+@Entity
+@Table(name = "cache_invalidations")
+@Data
+@NoArgsConstructor
+public class CacheInvalidationRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+
+    @Lob
+    @Column(name = "schedule_ids")
+    private String scheduleIds;
+
+    @Lob
+    private String dates;
+
+    @Lob
+    @Column(name = "room_ids")
+    private String roomIds;
+
+    @Lob
+    @Column(name = "room_days")
+    private String roomDays;
+
+    @Lob
+    private String changes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public CacheInvalidationRecord(String nodeId, CacheInvalidation invalidation) {
+        this.nodeId = nodeId;
+        this.scheduleIds = join(invalidation.scheduleIds());
+        this.dates = join(invalidation.dates());
+        this.roomIds = join(invalidation.roomIds());
+        this.roomDays = invalidation.roomDays().stream()
+                .map(roomDay -> roomDay.roomId() + ":" + roomDay.date())
+                .collect(Collectors.joining(","));
+        this.changes = invalidation.changes().stream()
+                .map(CacheInvalidationRecord::formatChange)
+                .collect(Collectors.joining(","));
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public CacheInvalidation toInvalidation() {
+        return new CacheInvalidation(split(scheduleIds, Long::valueOf), split(dates, LocalDate::parse),
+                split(roomIds, Long::valueOf), split(roomDays, CacheInvalidationRecord::parseRoomDay),
+                changes == null || changes.isEmpty() ? List.of()
+                        : Arrays.stream(changes.split(",")).map(CacheInvalidationRecord::parseChange).toList());
+    }
+
+    private static String join(Collection<?> values) {
+        return values.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static RoomDay parseRoomDay(String value) {
+        int separator = value.indexOf(':');
+        return new RoomDay(Long.valueOf(value.substring(0, separator)), LocalDate.parse(value.substring(separator + 1)));
+    }
+
+    private static String formatChange(ScheduleChange change) {
+        return Arrays.stream(new Object[]{change.type(), change.scheduleId(), change.date(), change.previousDate(),
+                        change.roomId(), change.previousRoomId(), change.userId(), change.status()})
+                .map(value -> value == null ? "" : value.toString())
+                .collect(Collectors.joining(":"));
+    }
+
+    private static ScheduleChange parseChange(String value) {
+        String[] fields = value.split(":", -1);
+        return new ScheduleChange(null, ScheduleChange.Type.valueOf(fields[0]), Long.valueOf(fields[1]),
+                parseOrNull(fields[2], LocalDate::parse), parseOrNull(fields[3], LocalDate::parse),
+                parseOrNull(fields[4], Long::valueOf), parseOrNull(fields[5], Long::valueOf),
+                parseOrNull(fields[6], Long::valueOf), parseOrNull(fields[7], Schedule.Status::valueOf));
+    }
+
+    private static <T> T parseOrNull(String value, Function<String, T> parser) {
+        return value.isEmpty() ? null : parser.apply(value);
+    }
+
+    private static <T> Set<T> split(String values, Function<String, T> parser) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(values.split(",")).map(parser).collect(Collectors.toSet());
+    }
+}
@@ -7,8 +7,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -21,14 +23,27 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
+// Indexes follow the repository queries; ddl-auto=update adds any that an existing database is missing.
+// room_date covers the per-room timeline lookups, date_start the per-date lookups, the availability subquery
+// and the (date, start time, id) order of listing pages; user_date the per-user lookups and last_updated
+// change tracking.
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+        @Index(name = "idx_schedules_room_date", columnList = "room_id, date, start_time, end_time"),
+        @Index(name = "idx_schedules_date_start", columnList = "date, start_time, id"),
+        @Index(name = "idx_schedules_user_date", columnList = "user_id, date"),
+        @Index(name = "idx_schedules_last_updated", columnList = "last_updated")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Schedule {
+    // Ids handed out per sequence round trip; identity columns would disable JDBC insert batching
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedules_seq")
+    @SequenceGenerator(name = "schedules_seq", sequenceName = "schedules_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,88 @@
+package my.projects.classroomschedulerapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// One 5-minute slot of a room-day held by a schedule. The primary key makes the database reject a
+// second schedule claiming the same slot, whichever application instance inserts it.
+@Entity
+@Table(name = "schedule_slots")
+@IdClass(ScheduleSlot.Key.class)
+@Data
+@NoArgsConstructor
+public class ScheduleSlot implements Persistable<ScheduleSlot.Key> {
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Id
+    private LocalDate date;
+
+    @Id
+    @Column(name = "slot_index")
+    private int slotIndex;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "schedule_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Schedule schedule;
+
+    // Slots are only ever inserted or deleted, so a slot is new until it has been persisted or loaded
+    @Transient
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    public ScheduleSlot(Long roomId, LocalDate date, int slotIndex, Schedule schedule) {
+        this.roomId = roomId;
+        this.date = date;
+        this.slotIndex = slotIndex;
+        this.schedule = schedule;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(roomId, date, slotIndex);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long roomId;
+        private LocalDate date;
+        private int slotIndex;
+    }
+}
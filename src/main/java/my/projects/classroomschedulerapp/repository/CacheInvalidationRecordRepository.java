@@ -0,0 +1,31 @@
+package my.projects.classroomschedulerapp.repository;
+
+import my.projects.classroomschedulerapp.model.CacheInvalidationRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRecordRepository extends JpaRepository<CacheInvalidationRecord, Long> {
+
+    List<CacheInvalidationRecord> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<CacheInvalidationRecord> findByIdBetweenOrderByIdAsc(Long fromId, Long toId);
+
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM CacheInvalidationRecord r")
+    long findMaxId();
+
+    @Query("SELECT MIN(r.id) FROM CacheInvalidationRecord r")
+    Long findMinId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CacheInvalidationRecord r WHERE r.createdAt < ?1 AND r.id < ?2")
+    int deleteCreatedBeforeAndIdBelow(LocalDateTime cutoff, long id);
+}
@@ -2,8 +2,10 @@ package my.projects.classroomschedulerapp.repository;
 
 import my.projects.classroomschedulerapp.model.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +16,7 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByProgramId(Long programId);
 
     boolean existsByCourseCode(String courseCode);
+
+    @Query("SELECT c.id FROM Course c WHERE c.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +18,12 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     List<Room> findByHasProjector(boolean hasProjector);
 
+    @Query("SELECT r.id FROM Room r WHERE r.id IN ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Room r WHERE r.building.id = ?1")
+    List<Long> findIdsByBuildingId(Long buildingId);
+
     @Query("SELECT r FROM Room r WHERE r.id NOT IN " +
             "(SELECT b.room.id FROM Schedule b WHERE b.date = ?1 AND " +
             "((b.startTime <= ?3 AND b.endTime >= ?3) OR " +
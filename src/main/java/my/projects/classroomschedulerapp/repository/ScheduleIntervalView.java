@@ -0,0 +1,23 @@
+package my.projects.classroomschedulerapp.repository;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Lightweight projection of the columns needed to place a schedule on a room's timeline
+public interface ScheduleIntervalView {
+    Long getId();
+
+    Long getRoomId();
+
+    Long getUserId();
+
+    LocalDate getDate();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+
+    Schedule.Status getStatus();
+}
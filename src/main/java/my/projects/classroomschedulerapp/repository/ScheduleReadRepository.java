@@ -0,0 +1,72 @@
+package my.projects.classroomschedulerapp.repository;
+
+import jakarta.persistence.QueryHint;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.model.Schedule;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Read model for schedule listings: each query selects only the columns of ScheduleDto, joining room, user,
+// course and the created/updated-by users in one statement, and builds the DTOs without managed entities.
+// Like ScheduleService.getUserName, a missing created/updated-by user is shown by its email.
+@org.springframework.stereotype.Repository
+public interface ScheduleReadRepository extends Repository<Schedule, Long> {
+
+    String SELECT_DTO = "SELECT new my.projects.classroomschedulerapp.dto.ScheduleDto(" +
+            "b.id, r.id, r.roomNumber, u.id, u.name, b.date, b.startTime, b.endTime, " +
+            "c.id, c.courseCode, c.description, b.status, b.creationDate, b.lastUpdated, " +
+            "b.createdByEmail, COALESCE(cu.name, b.createdByEmail), " +
+            "b.updatedByEmail, COALESCE(uu.name, b.updatedByEmail)) " +
+            "FROM Schedule b JOIN b.room r JOIN b.user u JOIN b.course c " +
+            "LEFT JOIN User cu ON cu.email = b.createdByEmail " +
+            "LEFT JOIN User uu ON uu.email = b.updatedByEmail ";
+
+    @Query(SELECT_DTO)
+    List<ScheduleDto> findAllDtos();
+
+    @Query(SELECT_DTO + "WHERE b.date = ?1")
+    List<ScheduleDto> findDtosByDate(LocalDate date);
+
+    @Query(SELECT_DTO + "WHERE u.id = ?1")
+    List<ScheduleDto> findDtosByUserId(Long userId);
+
+    @Query(SELECT_DTO + "WHERE u.email = ?1")
+    List<ScheduleDto> findDtosByUserEmail(String email);
+
+    @Query(SELECT_DTO + "WHERE b.id IN ?1")
+    List<ScheduleDto> findDtosByIds(Collection<Long> ids);
+
+    // One page in (date, start time, id) order, starting after the cursor when there is one. Null filters
+    // match everything. The leading b.date >= :afterDate lets the database start a range scan at the cursor.
+    @Query(SELECT_DTO +
+            "WHERE (:startDate IS NULL OR b.date >= :startDate) AND (:endDate IS NULL OR b.date <= :endDate) " +
+            "AND (:roomId IS NULL OR r.id = :roomId) AND (:userId IS NULL OR u.id = :userId) " +
+            "AND (:status IS NULL OR b.status = :status) " +
+            "AND (:afterDate IS NULL OR (b.date >= :afterDate AND (b.date > :afterDate " +
+            "OR b.startTime > :afterStartTime OR (b.startTime = :afterStartTime AND b.id > :afterId)))) " +
+            "ORDER BY b.date, b.startTime, b.id")
+    List<ScheduleDto> findDtoPage(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                  @Param("roomId") Long roomId, @Param("userId") Long userId,
+                                  @Param("status") Schedule.Status status, @Param("afterDate") LocalDate afterDate,
+                                  @Param("afterStartTime") LocalTime afterStartTime, @Param("afterId") Long afterId,
+                                  Limit limit);
+
+    // Every schedule in id order, read through a forward-only cursor a fetch size at a time; the stream has to
+    // be consumed and closed inside a transaction. On MySQL this needs useCursorFetch=true on the connection.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_DTO + "ORDER BY b.id")
+    Stream<ScheduleDto> streamAllDtos();
+}
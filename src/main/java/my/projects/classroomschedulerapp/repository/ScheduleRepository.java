@@ -3,11 +3,15 @@ package my.projects.classroomschedulerapp.repository;
 import my.projects.classroomschedulerapp.model.Room;
 import my.projects.classroomschedulerapp.model.Schedule;
 import my.projects.classroomschedulerapp.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,10 +20,50 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
 
     List<Schedule> findByRoomAndDate(Room room, LocalDate date);
 
+    // Fetch course and user in the same statement since they are needed to describe conflicts
+    @EntityGraph(attributePaths = {"course", "user"})
+    List<Schedule> findByRoomAndDateBetween(Room room, LocalDate startDate, LocalDate endDate);
+
     List<Schedule> findByUser(User user);
 
     List<Schedule> findByDateBetween(LocalDate startDate, LocalDate endDate);
 
     @Query("SELECT b FROM Schedule b WHERE b.date = ?1")
     List<Schedule> findAllSchedulesForDate(LocalDate date);
-}
\ No newline at end of file
+
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.user.id AS userId, b.date AS date, " +
+            "b.startTime AS startTime, b.endTime AS endTime, b.status AS status FROM Schedule b")
+    List<ScheduleIntervalView> findAllIntervals();
+
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.user.id AS userId, b.date AS date, " +
+            "b.startTime AS startTime, b.endTime AS endTime, b.status AS status FROM Schedule b " +
+            "WHERE b.room.id = ?1 AND b.date BETWEEN ?2 AND ?3")
+    List<ScheduleIntervalView> findIntervalsForRoom(Long roomId, LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.user.id AS userId, b.date AS date, " +
+            "b.startTime AS startTime, b.endTime AS endTime, b.status AS status FROM Schedule b " +
+            "WHERE b.user.id IN ?1 AND b.date BETWEEN ?2 AND ?3")
+    List<ScheduleIntervalView> findIntervalsForUsers(Collection<Long> userIds, LocalDate startDate,
+                                                     LocalDate endDate);
+
+    @Query("SELECT b.id AS id, b.room.id AS roomId, b.user.id AS userId, b.date AS date, " +
+            "b.startTime AS startTime, b.endTime AS endTime, b.status AS status FROM Schedule b WHERE b.id IN ?1")
+    List<ScheduleIntervalView> findIntervalsByIds(Collection<Long> ids);
+
+    // Set-based status change; bumps the version like an entity update would, so stale edits still fail
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Schedule b SET b.status = ?1, b.updatedByEmail = ?2, b.lastUpdated = ?3, " +
+            "b.version = b.version + 1 WHERE b.id IN ?4")
+    int updateStatus(Schedule.Status status, String updatedByEmail, LocalDateTime lastUpdated,
+                     Collection<Long> ids);
+
+    // Set-based delete; the database removes the slot reservations along with the schedules
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Schedule b WHERE b.id IN ?1")
+    int deleteByIds(Collection<Long> ids);
+
+    // Schedules saved before slot reservations existed, oldest first
+    @Query("SELECT b.id FROM Schedule b WHERE NOT EXISTS " +
+            "(SELECT s.slotIndex FROM ScheduleSlot s WHERE s.schedule = b) ORDER BY b.id")
+    List<Long> findIdsWithoutSlots();
+}
@@ -0,0 +1,17 @@
+package my.projects.classroomschedulerapp.repository;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+import my.projects.classroomschedulerapp.model.ScheduleSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ScheduleSlotRepository extends JpaRepository<ScheduleSlot, ScheduleSlot.Key> {
+
+    // Release the slots of a schedule before it is moved
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ScheduleSlot s WHERE s.schedule = ?1")
+    void deleteBySchedule(Schedule schedule);
+}
@@ -0,0 +1,88 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.event.CacheInvalidation;
+import my.projects.classroomschedulerapp.event.CacheInvalidationTransport;
+import my.projects.classroomschedulerapp.event.RoomChangedEvent;
+import my.projects.classroomschedulerapp.event.SchedulesChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Evicts exactly the cache entries a committed change made stale, so caching can stay on under writes.
+// Runs after commit, so a reader that misses afterwards loads the new state. Every node keeps its own
+// caches, so the same invalidation is broadcast to the other nodes and applied there when it arrives.
+// The broadcast also logs the schedule changes, which the change feed of every node publishes from the log.
+@Component
+public class CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    private final CacheManager cacheManager;
+    private final CacheInvalidationTransport transport;
+
+    public CacheInvalidationListener(CacheManager cacheManager, CacheInvalidationTransport transport) {
+        this.cacheManager = cacheManager;
+        this.transport = transport;
+        transport.subscribe(this::evict);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSchedulesChanged(SchedulesChangedEvent event) {
+        invalidate(new CacheInvalidation(event.scheduleIds(), event.dates(), Set.of(), event.roomDays(),
+                event.changes()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        invalidate(new CacheInvalidation(Set.of(), Set.of(), Set.of(event.roomId()), Set.of(), List.of()));
+    }
+
+    private void invalidate(CacheInvalidation invalidation) {
+        evict(invalidation);
+        transport.broadcast(invalidation);
+    }
+
+    private void evict(CacheInvalidation invalidation) {
+        Cache scheduleDetails = cache("scheduleDetails");
+        Cache schedulesByDate = cache("schedulesByDate");
+        invalidation.scheduleIds().forEach(scheduleDetails::evict);
+        for (LocalDate date : invalidation.dates()) {
+            schedulesByDate.evict(date.toString());
+        }
+        invalidation.roomIds().forEach(this::evictRoom);
+        logger.debug("Evicted cached views of {} schedules on {} dates and {} rooms",
+                invalidation.scheduleIds().size(), invalidation.dates().size(), invalidation.roomIds().size());
+    }
+
+    private void evictRoom(Long roomId) {
+        cache("roomDetails").evict(roomId);
+
+        // Which schedules show the room is only known from the cached values themselves
+        Map<Object, Object> scheduleDetails = entries("scheduleDetails");
+        scheduleDetails.values().removeIf(value ->
+                value instanceof ScheduleDto schedule && Objects.equals(schedule.getRoomId(), roomId));
+        Map<Object, Object> schedulesByDate = entries("schedulesByDate");
+        schedulesByDate.values().removeIf(value -> value instanceof List<?> schedules && schedules.stream()
+                .anyMatch(schedule -> schedule instanceof ScheduleDto dto
+                        && Objects.equals(dto.getRoomId(), roomId)));
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), () -> "No cache named " + name);
+    }
+
+    // Live view of a Caffeine cache; removing from it evicts the entry
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> entries(String name) {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache(name).getNativeCache()).asMap();
+    }
+}
@@ -16,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 @Service
 public class CourseService {
@@ -25,17 +24,20 @@ public class CourseService {
     private final ObjectProvider<CourseService> self;
     private final CourseRepository courseRepository;
     private final ProgramRepository programRepository;
+    private final DtoMapper dtoMapper;
 
 
     public CourseService(ObjectProvider<CourseService> self,
-                         CourseRepository courseRepository, ProgramRepository departmentRepository) {
+                         CourseRepository courseRepository, ProgramRepository departmentRepository,
+                         DtoMapper dtoMapper) {
         this.self = self;
         this.courseRepository = courseRepository;
         this.programRepository = departmentRepository;
+        this.dtoMapper = dtoMapper;
     }
 
     // Asynchronous method to get all courses
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<List<CourseDto>> getAllCoursesAsync() {
         logger.debug("Asynchronously fetching all courses");
         List<CourseDto> courses = self.getObject().getAllCourses();
@@ -43,7 +45,7 @@ public class CourseService {
     }
 
     // Asynchronous method to get course by ID
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<CourseDto> getCourseByIdAsync(Long id) {
         logger.debug("Asynchronously fetching course with id: {}", id);
         CourseDto course = self.getObject().getCourseById(id);
@@ -51,7 +53,7 @@ public class CourseService {
     }
 
     // Asynchronous method to get courses by program ID
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<List<CourseDto>> getCoursesByProgramAsync(Long programId) {
         logger.debug("Asynchronously fetching courses for program id: {}", programId);
         List<CourseDto> courses = self.getObject().getCoursesByProgram(programId);
@@ -62,16 +64,14 @@ public class CourseService {
     @Transactional(readOnly = true)
     public List<CourseDto> getAllCourses() {
         logger.debug("Fetching all courses");
-        List<CourseDto> courses = courseRepository.findAll().parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<CourseDto> courses = dtoMapper.mapAll("courses", courseRepository.findAll(), this::convertToDto);
         logger.debug("Found {} courses", courses.size());
         return courses;
     }
 
     // Get course by ID
     @Transactional(readOnly = true)
-    @Cacheable(value = "courseDetails", key = "#id")
+    @Cacheable(value = "courseDetails", key = "#id", sync = true)
     public CourseDto getCourseById(Long id) {
         logger.debug("Fetching course with id: {}", id);
         Course course = courseRepository.findById(id)
@@ -85,7 +85,7 @@ public class CourseService {
 
     // Get courses by program ID
     @Transactional(readOnly = true)
-    @Cacheable(value = "coursesByProgram", key = "#programId")
+    @Cacheable(value = "coursesByProgram", key = "#programId", sync = true)
     public List<CourseDto> getCoursesByProgram(Long programId) {
         logger.debug("Fetching courses for program id: {}", programId);
 
@@ -94,9 +94,8 @@ public class CourseService {
             throw new ResourceNotFoundException("Program not found with id: " + programId);
         }
 
-        List<CourseDto> courses = courseRepository.findByProgramId(programId).parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<CourseDto> courses = dtoMapper.mapAll("coursesByProgram",
+                courseRepository.findByProgramId(programId), this::convertToDto);
 
         logger.debug("Found {} courses for program id: {}", courses.size(), programId);
         return courses;
@@ -14,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 @Service
 public class DepartmentService {
@@ -22,15 +21,17 @@ public class DepartmentService {
     private static final Logger logger = LoggerFactory.getLogger(DepartmentService.class);
     private final ObjectProvider<DepartmentService> self;
     private final DepartmentRepository departmentRepository;
+    private final DtoMapper dtoMapper;
 
     public DepartmentService(ObjectProvider<DepartmentService> self,
-                             DepartmentRepository departmentRepository) {
+                             DepartmentRepository departmentRepository, DtoMapper dtoMapper) {
         this.self = self;
         this.departmentRepository = departmentRepository;
+        this.dtoMapper = dtoMapper;
     }
 
     // Asynchronous method to get all departments
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<List<DepartmentDto>> getAllDepartmentsAsync() {
         logger.debug("Asynchronously fetching all departments");
         List<DepartmentDto> departments = self.getObject().getAllDepartments();
@@ -38,7 +39,7 @@ public class DepartmentService {
     }
 
     // Asynchronous method to get department by ID
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<DepartmentDto> getDepartmentByIdAsync(Long id) {
         logger.debug("Asynchronously fetching department with id: {}", id);
         DepartmentDto department = self.getObject().getDepartmentById(id);
@@ -50,16 +51,15 @@ public class DepartmentService {
     @Transactional(readOnly = true)
     public List<DepartmentDto> getAllDepartments() {
         logger.debug("Fetching all departments");
-        List<DepartmentDto> departments = departmentRepository.findAll().parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<DepartmentDto> departments = dtoMapper.mapAll("departments",
+                departmentRepository.findAll(), this::convertToDto);
         logger.debug("Found {} departments", departments.size());
         return departments;
     }
 
     // Get department by ID
     @Transactional(readOnly = true)
-    @Cacheable(value = "departmentDetails", key = "#id")
+    @Cacheable(value = "departmentDetails", key = "#id", sync = true)
     public DepartmentDto getDepartmentById(Long id) {
         logger.debug("Fetching department with id: {}", id);
         Department department = departmentRepository.findById(id)
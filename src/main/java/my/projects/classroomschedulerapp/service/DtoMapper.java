@@ -0,0 +1,96 @@
+package my.projects.classroomschedulerapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Maps result lists to DTOs for every list method. Short lists, and lists whose mapping has proven cheap,
+// are mapped on the calling thread; only long, costly ones are split across a pool of their own, so list
+// requests do not contend for the JVM-wide common pool. Each call is timed under app.mapping.duration.
+@Component
+public class DtoMapper implements DisposableBean {
+
+    // Sequential runs shorter than this say too little about the cost of one row
+    private static final int MIN_SAMPLE_ROWS = 64;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final long parallelMinWorkNanos;
+    private final MeterRegistry meterRegistry;
+    // Average nanoseconds to map one row, per mapping, learned from every run long enough to be a fair sample
+    private final Map<String, Long> nanosPerRow = new ConcurrentHashMap<>();
+
+    public DtoMapper(@Value("${app.mapping.parallelism:0}") int parallelism,
+                     @Value("${app.mapping.parallel-threshold:1000}") int parallelThreshold,
+                     @Value("${app.mapping.parallel-min-work-micros:500}") long parallelMinWorkMicros,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("dto-mapping-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.parallelThreshold = parallelThreshold;
+        this.parallelMinWorkNanos = parallelMinWorkMicros * 1000;
+        this.meterRegistry = meterRegistry.getIfAvailable();
+    }
+
+    // Map every item in order; name identifies the mapping in the metrics and the cost estimates
+    public <T, R> List<R> mapAll(String name, Collection<T> items, Function<? super T, ? extends R> mapper) {
+        boolean parallel = shouldParallelize(name, items.size());
+        long start = System.nanoTime();
+        List<R> mapped;
+        if (parallel) {
+            // A parallel stream started inside a pool splits its work across that pool
+            mapped = pool.submit(() -> items.parallelStream().map(mapper).collect(Collectors.<R>toList())).join();
+        } else {
+            mapped = new ArrayList<>(items.size());
+            for (T item : items) {
+                mapped.add(mapper.apply(item));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (items.size() >= MIN_SAMPLE_ROWS) {
+            // A parallel run spent roughly its wall time on every worker
+            long sample = (parallel ? elapsed * pool.getParallelism() : elapsed) / items.size();
+            nanosPerRow.merge(name, sample, (average, latest) -> (average * 7 + latest) / 8);
+        }
+        if (meterRegistry != null) {
+            Timer.builder("app.mapping.duration")
+                    .description("Time to map a result list to DTOs")
+                    .tag("mapping", name)
+                    .tag("mode", parallel ? "parallel" : "sequential")
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        return mapped;
+    }
+
+    // Parallel only pays off for long lists whose total mapping work outweighs splitting and joining them
+    boolean shouldParallelize(String name, int rows) {
+        if (rows < parallelThreshold) {
+            return false;
+        }
+        Long perRow = nanosPerRow.get(name);
+        return perRow == null || perRow * rows >= parallelMinWorkNanos;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,46 @@
+package my.projects.classroomschedulerapp.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+
+// Sort-and-sweep overlap detection over dated time ranges
+final class IntervalSweep {
+
+    private IntervalSweep() {
+    }
+
+    // Report every pair of overlapping spans on the same date; touching spans do not overlap.
+    // Runs in O((n + k) log n) for n spans and k reported pairs.
+    static <T> void sweep(List<Span<T>> spans, BiConsumer<Span<T>, Span<T>> onOverlap) {
+        List<Span<T>> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparing((Span<T> span) -> span.date())
+                .thenComparingInt(Span::start)
+                .thenComparingInt(Span::end));
+
+        // Spans still open at the current sweep position, earliest end first
+        PriorityQueue<Span<T>> active = new PriorityQueue<>(Comparator.comparingInt(Span::end));
+        LocalDate currentDate = null;
+
+        for (Span<T> span : sorted) {
+            if (!span.date().equals(currentDate)) {
+                active.clear();
+                currentDate = span.date();
+            }
+            while (!active.isEmpty() && active.peek().end() <= span.start()) {
+                active.poll();
+            }
+            for (Span<T> open : active) {
+                onOverlap.accept(open, span);
+            }
+            active.add(span);
+        }
+    }
+
+    // A time range on a date carrying the item it belongs to
+    record Span<T>(LocalDate date, int start, int end, T item) {
+    }
+}
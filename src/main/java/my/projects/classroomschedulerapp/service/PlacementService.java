@@ -0,0 +1,317 @@
+package my.projects.classroomschedulerapp.service;
+
+import jakarta.annotation.PreDestroy;
+import my.projects.classroomschedulerapp.dto.CourseMeetingDto;
+import my.projects.classroomschedulerapp.dto.MeetingAssignmentDto;
+import my.projects.classroomschedulerapp.dto.PlacementRequestDto;
+import my.projects.classroomschedulerapp.dto.PlacementResultDto;
+import my.projects.classroomschedulerapp.dto.RecurrencePatternDto;
+import my.projects.classroomschedulerapp.dto.RoomDto;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
+import my.projects.classroomschedulerapp.exception.OccupancyLoadingException;
+import my.projects.classroomschedulerapp.exception.ResourceNotFoundException;
+import my.projects.classroomschedulerapp.repository.CourseRepository;
+import my.projects.classroomschedulerapp.repository.ScheduleIntervalView;
+import my.projects.classroomschedulerapp.repository.ScheduleRepository;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Picks rooms and start times for recurring course meetings. Independent randomized attempts of
+// the solver run on a dedicated fork/join pool until the time budget runs out or one of them
+// places every meeting; the best attempt wins.
+@Service
+public class PlacementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlacementService.class);
+    private static final int MAX_MEETINGS = 2_000;
+    private static final int MAX_MEETING_DAYS = 366;
+    private final RoomOccupancyIndex occupancyIndex;
+    private final ScheduleRepository scheduleRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final ScheduleService scheduleService;
+    private final ForkJoinPool placementPool;
+    private final int parallelism;
+    private final long defaultTimeBudgetMillis;
+    private final long maxTimeBudgetMillis;
+
+    public PlacementService(RoomOccupancyIndex occupancyIndex,
+                            ScheduleRepository scheduleRepository,
+                            CourseRepository courseRepository,
+                            UserRepository userRepository,
+                            ScheduleService scheduleService,
+                            @Value("${app.placement.parallelism:0}") int parallelism,
+                            @Value("${app.placement.time-budget-ms:2000}") long defaultTimeBudgetMillis,
+                            @Value("${app.placement.max-time-budget-ms:30000}") long maxTimeBudgetMillis) {
+        this.occupancyIndex = occupancyIndex;
+        this.scheduleRepository = scheduleRepository;
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.scheduleService = scheduleService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.defaultTimeBudgetMillis = defaultTimeBudgetMillis;
+        this.maxTimeBudgetMillis = maxTimeBudgetMillis;
+        // Kept apart from the common pool so that long searches do not starve parallel streams
+        this.placementPool = new ForkJoinPool(this.parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        placementPool.shutdownNow();
+        placementPool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Asynchronous method to solve a placement request
+    @Async("batchExecutor")
+    public CompletableFuture<PlacementResultDto> solveAsync(PlacementRequestDto request) {
+        return CompletableFuture.completedFuture(solve(request));
+    }
+
+    // Find a conflict-free room and start time for as many of the requested meetings as possible
+    public PlacementResultDto solve(PlacementRequestDto request) {
+        if (!occupancyIndex.isLoaded()) {
+            throw new OccupancyLoadingException("Room occupancy is still loading, please retry shortly");
+        }
+        validate(request);
+        long startedNanos = System.nanoTime();
+        long budgetMillis = Math.min(request.getTimeBudgetMillis() == null
+                ? defaultTimeBudgetMillis : request.getTimeBudgetMillis(), maxTimeBudgetMillis);
+        long deadlineNanos = startedNanos + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        logger.info("Placing {} meetings within {} ms using {} workers",
+                request.getMeetings().size(), budgetMillis, parallelism);
+
+        List<PlacementSolver.Meeting> meetings = prepareMeetings(request);
+        PlacementSolver solver = new PlacementSolver(meetings, occupancyIndex::busySlots,
+                loadInstructorBusySlots(meetings),
+                RoomOccupancyIndex.ceilSlot(request.getEarliestStart().toSecondOfDay()),
+                RoomOccupancyIndex.floorSlot(request.getLatestEnd().toSecondOfDay()),
+                request.getStepMinutes() / RoomOccupancyIndex.SLOT_MINUTES);
+
+        // Worker w runs seeds w, w + parallelism, ...; seed 0 is the deterministic greedy attempt
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean complete = new AtomicBoolean();
+        List<ForkJoinTask<PlacementSolver.Solution>> workers = new ArrayList<>(parallelism);
+        for (int worker = 0; worker < parallelism; worker++) {
+            long firstSeed = worker;
+            workers.add(placementPool.submit(() -> {
+                PlacementSolver.Solution best = null;
+                long seed = firstSeed;
+                do {
+                    PlacementSolver.Solution solution = solver.solve(seed, deadlineNanos);
+                    attempts.incrementAndGet();
+                    if (solution.betterThan(best)) {
+                        best = solution;
+                    }
+                    if (solution.placedCount() == meetings.size()) {
+                        complete.set(true);
+                    }
+                    seed += parallelism;
+                } while (!complete.get() && System.nanoTime() < deadlineNanos);
+                return best;
+            }));
+        }
+
+        PlacementSolver.Solution best = null;
+        for (ForkJoinTask<PlacementSolver.Solution> worker : workers) {
+            PlacementSolver.Solution solution = worker.join();
+            if (solution.betterThan(best)) {
+                best = solution;
+            }
+        }
+
+        PlacementResultDto result = toResult(meetings, best, attempts.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        logger.info("Placed {} of {} meetings after {} attempts in {} ms", result.getAssignments().size(),
+                meetings.size(), result.getAttempts(), result.getElapsedMillis());
+        return result;
+    }
+
+    // Book the chosen assignments in a single all-or-nothing batch
+    public List<ScheduleDto> commit(List<MeetingAssignmentDto> assignments) {
+        List<ScheduleDto> scheduleDtos = new ArrayList<>();
+        for (MeetingAssignmentDto assignment : assignments) {
+            validatePattern(assignment.getRecurrencePattern(),
+                    "Assignment for meeting " + assignment.getMeetingIndex());
+            for (LocalDate date : RecurrenceDates.generate(assignment.getRecurrencePattern())) {
+                ScheduleDto scheduleDto = new ScheduleDto();
+                scheduleDto.setRoomId(assignment.getRoomId());
+                scheduleDto.setUserId(assignment.getUserId());
+                scheduleDto.setCourseId(assignment.getCourseId());
+                scheduleDto.setDate(date);
+                scheduleDto.setStartTime(assignment.getStartTime());
+                scheduleDto.setEndTime(assignment.getEndTime());
+                scheduleDtos.add(scheduleDto);
+            }
+        }
+        logger.info("Committing {} placed meetings as {} schedules", assignments.size(), scheduleDtos.size());
+        return scheduleService.createSchedulesBatch(scheduleDtos);
+    }
+
+    private void validate(PlacementRequestDto request) {
+        List<CourseMeetingDto> meetings = request.getMeetings();
+        if (meetings == null || meetings.isEmpty()) {
+            throw new InvalidRequestException("At least one meeting is required");
+        }
+        if (meetings.size() > MAX_MEETINGS) {
+            throw new InvalidRequestException("Cannot place more than " + MAX_MEETINGS + " meetings at once");
+        }
+        if (request.getEarliestStart() == null || request.getLatestEnd() == null
+                || !request.getEarliestStart().isBefore(request.getLatestEnd())) {
+            throw new InvalidRequestException("Earliest start must be before latest end");
+        }
+        if (request.getStepMinutes() <= 0 || request.getStepMinutes() % RoomOccupancyIndex.SLOT_MINUTES != 0) {
+            throw new InvalidRequestException(
+                    "Step must be a positive multiple of " + RoomOccupancyIndex.SLOT_MINUTES + " minutes");
+        }
+        if (request.getTimeBudgetMillis() != null && request.getTimeBudgetMillis() <= 0) {
+            throw new InvalidRequestException("Time budget must be positive");
+        }
+
+        Set<Long> courseIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        int scheduleCount = 0;
+        for (int i = 0; i < meetings.size(); i++) {
+            CourseMeetingDto meeting = meetings.get(i);
+            if (meeting.getDurationMinutes() <= 0
+                    || meeting.getDurationMinutes() % RoomOccupancyIndex.SLOT_MINUTES != 0) {
+                throw new InvalidRequestException("Meeting " + i + ": duration must be a positive multiple of "
+                        + RoomOccupancyIndex.SLOT_MINUTES + " minutes");
+            }
+            validatePattern(meeting.getRecurrencePattern(), "Meeting " + i);
+            scheduleCount += RecurrenceDates.generate(meeting.getRecurrencePattern()).size();
+            courseIds.add(meeting.getCourseId());
+            userIds.add(meeting.getUserId());
+        }
+        // Placed meetings are committed as one batch, so every meeting placed has to fit in it
+        if (scheduleCount > ScheduleService.MAX_DRY_RUN_CANDIDATES) {
+            throw new InvalidRequestException("The meetings cover " + scheduleCount + " dates, more than the "
+                    + ScheduleService.MAX_DRY_RUN_CANDIDATES + " schedules that can be committed at once");
+        }
+
+        courseIds.removeAll(courseRepository.findExistingIds(courseIds));
+        if (!courseIds.isEmpty()) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseIds.iterator().next());
+        }
+        userIds.removeAll(userRepository.findExistingIds(userIds));
+        if (!userIds.isEmpty()) {
+            throw new ResourceNotFoundException("User not found with id: " + userIds.iterator().next());
+        }
+    }
+
+    // The dates are generated from the pattern, so it has to be complete and span a bounded range
+    private static void validatePattern(RecurrencePatternDto pattern, String subject) {
+        if (pattern == null || pattern.getStartDate() == null || pattern.getEndDate() == null
+                || pattern.getDaysOfWeek() == null) {
+            throw new InvalidRequestException(subject + ": a complete recurrence pattern is required");
+        }
+        if (pattern.getEndDate().isBefore(pattern.getStartDate())
+                || ChronoUnit.DAYS.between(pattern.getStartDate(), pattern.getEndDate()) >= MAX_MEETING_DAYS) {
+            throw new InvalidRequestException(subject + ": recurrence must span 1 to " + MAX_MEETING_DAYS + " days");
+        }
+    }
+
+    // Expand patterns into dates and filter the room catalog down to the rooms each meeting fits in
+    private List<PlacementSolver.Meeting> prepareMeetings(PlacementRequestDto request) {
+        List<CourseMeetingDto> requests = request.getMeetings();
+        LocalDate firstDate = requests.stream()
+                .map(meeting -> meeting.getRecurrencePattern().getStartDate())
+                .min(LocalDate::compareTo)
+                .orElseThrow();
+        List<RoomDto> rooms = occupancyIndex.rooms();
+
+        List<PlacementSolver.Meeting> meetings = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CourseMeetingDto meeting = requests.get(i);
+            List<LocalDate> dates = RecurrenceDates.generate(meeting.getRecurrencePattern());
+            BitSet dayMask = new BitSet();
+            dates.forEach(date -> dayMask.set((int) ChronoUnit.DAYS.between(firstDate, date)));
+            List<RoomDto> candidateRooms = rooms.stream()
+                    .filter(room -> room.getCapacity() >= meeting.getMinCapacity())
+                    .filter(room -> !meeting.isNeedsProjector() || room.isHasProjector())
+                    .filter(room -> !meeting.isNeedsComputers() || room.isHasComputers())
+                    .filter(room -> meeting.getBuildingId() == null
+                            || meeting.getBuildingId().equals(room.getBuildingId()))
+                    .toList();
+            // A meeting without dates has nothing to book, so it is left unplaced rather than given a room
+            meetings.add(new PlacementSolver.Meeting(i, meeting, dates, dayMask,
+                    meeting.getDurationMinutes() / RoomOccupancyIndex.SLOT_MINUTES,
+                    dates.isEmpty() ? List.of() : candidateRooms));
+        }
+        return meetings;
+    }
+
+    // Busy slots of every involved instructor on every date of the request, from one range query
+    private Map<PlacementSolver.UserDay, BitSet> loadInstructorBusySlots(List<PlacementSolver.Meeting> meetings) {
+        Set<Long> userIds = new HashSet<>();
+        LocalDate startDate = LocalDate.MAX;
+        LocalDate endDate = LocalDate.MIN;
+        for (PlacementSolver.Meeting meeting : meetings) {
+            userIds.add(meeting.request().getUserId());
+            LocalDate patternStart = meeting.request().getRecurrencePattern().getStartDate();
+            LocalDate patternEnd = meeting.request().getRecurrencePattern().getEndDate();
+            startDate = patternStart.isBefore(startDate) ? patternStart : startDate;
+            endDate = patternEnd.isAfter(endDate) ? patternEnd : endDate;
+        }
+
+        Map<PlacementSolver.UserDay, BitSet> busy = new HashMap<>();
+        for (ScheduleIntervalView view : scheduleRepository.findIntervalsForUsers(userIds, startDate, endDate)) {
+            int fromSlot = RoomOccupancyIndex.floorSlot(view.getStartTime().toSecondOfDay());
+            int toSlot = RoomOccupancyIndex.ceilSlot(view.getEndTime().toSecondOfDay());
+            if (fromSlot < toSlot) {
+                busy.computeIfAbsent(new PlacementSolver.UserDay(view.getUserId(), view.getDate()),
+                        key -> new BitSet(RoomOccupancyIndex.SLOTS_PER_DAY)).set(fromSlot, toSlot);
+            }
+        }
+        return busy;
+    }
+
+    private PlacementResultDto toResult(List<PlacementSolver.Meeting> meetings, PlacementSolver.Solution solution,
+                                        int attempts, long elapsedMillis) {
+        List<MeetingAssignmentDto> assignments = new ArrayList<>();
+        List<Integer> unplaced = new ArrayList<>();
+        for (PlacementSolver.Meeting meeting : meetings) {
+            PlacementSolver.Placement placement = solution.placements()[meeting.index()];
+            if (placement == null) {
+                unplaced.add(meeting.index());
+                continue;
+            }
+            RoomDto room = meeting.rooms().get(placement.roomPosition());
+            LocalTime startTime = LocalTime.ofSecondOfDay(
+                    (long) placement.startSlot() * RoomOccupancyIndex.SLOT_SECONDS);
+            assignments.add(new MeetingAssignmentDto(
+                    meeting.index(),
+                    meeting.request().getCourseId(),
+                    meeting.request().getUserId(),
+                    room.getId(),
+                    room.getRoomNumber(),
+                    startTime,
+                    startTime.plusMinutes(meeting.request().getDurationMinutes()),
+                    meeting.request().getRecurrencePattern(),
+                    meeting.dates().size()
+            ));
+        }
+        return new PlacementResultDto(assignments, unplaced, unplaced.isEmpty(), attempts, elapsedMillis);
+    }
+}
@@ -0,0 +1,277 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.CourseMeetingDto;
+import my.projects.classroomschedulerapp.dto.RoomDto;
+import my.projects.classroomschedulerapp.event.RoomDay;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+// Searches rooms and start times for a set of recurring meetings. Each attempt builds a solution
+// greedily (most constrained meeting first, tightest room and earliest start preferred) and then
+// repairs it by moving a single blocking meeting out of the way of an unplaced one. Room and
+// instructor occupancy are bitsets of 5-minute slots, so a room is tested for a meeting by OR-ing
+// its busy slots across all of the meeting's dates and probing the window once.
+final class PlacementSolver {
+
+    // Cost of one spare seat, relative to starting one slot later
+    private static final long CAPACITY_WEIGHT = 4;
+    // Random spread added to costs on randomized attempts so that restarts explore other solutions
+    private static final int COST_NOISE = 40;
+
+    private final List<Meeting> meetings;
+    private final BiFunction<Long, LocalDate, BitSet> existingRoomBusy;
+    private final Map<UserDay, BitSet> existingUserBusy;
+    private final int firstSlot;
+    private final int lastSlot;
+    private final int stepSlots;
+
+    PlacementSolver(List<Meeting> meetings, BiFunction<Long, LocalDate, BitSet> existingRoomBusy,
+                    Map<UserDay, BitSet> existingUserBusy, int firstSlot, int lastSlot, int stepSlots) {
+        this.meetings = meetings;
+        this.existingRoomBusy = existingRoomBusy;
+        this.existingUserBusy = existingUserBusy;
+        this.firstSlot = firstSlot;
+        this.lastSlot = lastSlot;
+        this.stepSlots = stepSlots;
+    }
+
+    // Run one attempt; seed 0 is fully deterministic, other seeds perturb the order and choices
+    Solution solve(long seed, long deadlineNanos) {
+        return new Attempt(seed, deadlineNanos).run();
+    }
+
+    // A meeting prepared for the search; dayMask marks its dates as day offsets for fast intersection
+    record Meeting(int index, CourseMeetingDto request, List<LocalDate> dates, BitSet dayMask, int slots,
+                   List<RoomDto> rooms) {
+
+        boolean sharesDateWith(Meeting other) {
+            return dayMask.intersects(other.dayMask);
+        }
+    }
+
+    // A chosen room (position in the meeting's room list) and start slot
+    record Placement(int roomPosition, int startSlot) {
+    }
+
+    // Best placements of one attempt, indexed like the meetings
+    record Solution(Placement[] placements, int placedCount, long cost) {
+
+        boolean betterThan(Solution other) {
+            return other == null || placedCount > other.placedCount
+                    || (placedCount == other.placedCount && cost < other.cost);
+        }
+    }
+
+    // Key of a single instructor on a single date
+    record UserDay(Long userId, LocalDate date) {
+    }
+
+    private final class Attempt {
+
+        private final Random random;
+        private final boolean randomized;
+        private final long deadlineNanos;
+        private final Placement[] placements = new Placement[meetings.size()];
+        private final Map<RoomDay, BitSet> roomBusy = new HashMap<>();
+        private final Map<UserDay, BitSet> userBusy = new HashMap<>();
+
+        private Attempt(long seed, long deadlineNanos) {
+            this.random = new Random(seed);
+            this.randomized = seed != 0;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private Solution run() {
+            List<Meeting> order = new ArrayList<>(meetings);
+            // Fewest candidate rooms first, then the meetings occupying the most slots in total
+            Map<Meeting, Integer> jitter = new HashMap<>();
+            order.forEach(meeting -> jitter.put(meeting, randomized ? random.nextInt(3) : 0));
+            order.sort(Comparator.comparingInt((Meeting meeting) -> meeting.rooms().size() + jitter.get(meeting))
+                    .thenComparing(meeting -> -(long) meeting.dates().size() * meeting.slots()));
+
+            for (Meeting meeting : order) {
+                Placement placement = bestPlacement(meeting);
+                if (placement != null) {
+                    place(meeting, placement);
+                }
+            }
+
+            for (Meeting meeting : order) {
+                if (System.nanoTime() > deadlineNanos) {
+                    break;
+                }
+                if (placements[meeting.index()] == null) {
+                    repair(meeting);
+                }
+            }
+
+            int placedCount = 0;
+            long cost = 0;
+            for (Meeting meeting : meetings) {
+                Placement placement = placements[meeting.index()];
+                if (placement != null) {
+                    placedCount++;
+                    cost += cost(meeting, placement);
+                }
+            }
+            return new Solution(placements.clone(), placedCount, cost);
+        }
+
+        // Cheapest feasible room and start for the meeting given everything placed so far
+        private Placement bestPlacement(Meeting meeting) {
+            BitSet instructorBusy = instructorBusy(meeting, true);
+            Placement best = null;
+            long bestCost = Long.MAX_VALUE;
+            for (int roomPosition = 0; roomPosition < meeting.rooms().size(); roomPosition++) {
+                BitSet busy = roomBusy(meeting, roomPosition, true);
+                busy.or(instructorBusy);
+                for (int start = firstSlot; start + meeting.slots() <= lastSlot; start += stepSlots) {
+                    if (isFree(busy, start, meeting.slots())) {
+                        Placement candidate = new Placement(roomPosition, start);
+                        long candidateCost = cost(meeting, candidate) + (randomized ? random.nextInt(COST_NOISE) : 0);
+                        if (candidateCost < bestCost) {
+                            best = candidate;
+                            bestCost = candidateCost;
+                        }
+                    }
+                }
+            }
+            return best;
+        }
+
+        // Try to place the meeting by moving exactly one placed meeting that blocks it somewhere else
+        private void repair(Meeting meeting) {
+            BitSet existingInstructorBusy = instructorBusy(meeting, false);
+            for (int roomPosition = 0; roomPosition < meeting.rooms().size(); roomPosition++) {
+                BitSet existingBusy = roomBusy(meeting, roomPosition, false);
+                existingBusy.or(existingInstructorBusy);
+                for (int start = firstSlot; start + meeting.slots() <= lastSlot; start += stepSlots) {
+                    if (System.nanoTime() > deadlineNanos) {
+                        return;
+                    }
+                    // Existing schedules cannot be moved
+                    if (!isFree(existingBusy, start, meeting.slots())) {
+                        continue;
+                    }
+                    Placement candidate = new Placement(roomPosition, start);
+                    Meeting blocker = singleBlocker(meeting, candidate);
+                    if (blocker == null) {
+                        continue;
+                    }
+
+                    Placement previous = placements[blocker.index()];
+                    unplace(blocker);
+                    place(meeting, candidate);
+                    Placement moved = bestPlacement(blocker);
+                    if (moved != null) {
+                        place(blocker, moved);
+                        return;
+                    }
+                    unplace(meeting);
+                    place(blocker, previous);
+                }
+            }
+        }
+
+        // The only placed meeting clashing with the candidate, or null when there are none or several
+        private Meeting singleBlocker(Meeting meeting, Placement candidate) {
+            Long roomId = meeting.rooms().get(candidate.roomPosition()).getId();
+            Meeting blocker = null;
+            for (Meeting other : meetings) {
+                Placement placed = placements[other.index()];
+                if (placed == null || other == meeting || !meeting.sharesDateWith(other)) {
+                    continue;
+                }
+                boolean overlaps = placed.startSlot() < candidate.startSlot() + meeting.slots()
+                        && candidate.startSlot() < placed.startSlot() + other.slots();
+                boolean sharesResource = roomId.equals(other.rooms().get(placed.roomPosition()).getId())
+                        || meeting.request().getUserId().equals(other.request().getUserId());
+                if (overlaps && sharesResource) {
+                    if (blocker != null) {
+                        return null;
+                    }
+                    blocker = other;
+                }
+            }
+            return blocker;
+        }
+
+        // Busy slots of the room across all of the meeting's dates
+        private BitSet roomBusy(Meeting meeting, int roomPosition, boolean includePlaced) {
+            Long roomId = meeting.rooms().get(roomPosition).getId();
+            BitSet busy = new BitSet(RoomOccupancyIndex.SLOTS_PER_DAY);
+            for (LocalDate date : meeting.dates()) {
+                orInto(busy, existingRoomBusy.apply(roomId, date));
+                if (includePlaced) {
+                    orInto(busy, roomBusy.get(new RoomDay(roomId, date)));
+                }
+            }
+            return busy;
+        }
+
+        // Busy slots of the meeting's instructor across all of its dates
+        private BitSet instructorBusy(Meeting meeting, boolean includePlaced) {
+            Long userId = meeting.request().getUserId();
+            BitSet busy = new BitSet(RoomOccupancyIndex.SLOTS_PER_DAY);
+            for (LocalDate date : meeting.dates()) {
+                UserDay userDay = new UserDay(userId, date);
+                orInto(busy, existingUserBusy.get(userDay));
+                if (includePlaced) {
+                    orInto(busy, userBusy.get(userDay));
+                }
+            }
+            return busy;
+        }
+
+        private void place(Meeting meeting, Placement placement) {
+            placements[meeting.index()] = placement;
+            mark(meeting, placement, true);
+        }
+
+        private void unplace(Meeting meeting) {
+            Placement placement = placements[meeting.index()];
+            placements[meeting.index()] = null;
+            mark(meeting, placement, false);
+        }
+
+        // Placed meetings never overlap each other, so clearing a meeting's bits only removes its own
+        private void mark(Meeting meeting, Placement placement, boolean busy) {
+            Long roomId = meeting.rooms().get(placement.roomPosition()).getId();
+            Long userId = meeting.request().getUserId();
+            int from = placement.startSlot();
+            int to = from + meeting.slots();
+            for (LocalDate date : meeting.dates()) {
+                roomBusy.computeIfAbsent(new RoomDay(roomId, date), key -> new BitSet())
+                        .set(from, to, busy);
+                userBusy.computeIfAbsent(new UserDay(userId, date), key -> new BitSet())
+                        .set(from, to, busy);
+            }
+        }
+    }
+
+    // Prefer the tightest room that fits, then the earliest start
+    private long cost(Meeting meeting, Placement placement) {
+        RoomDto room = meeting.rooms().get(placement.roomPosition());
+        return (room.getCapacity() - meeting.request().getMinCapacity()) * CAPACITY_WEIGHT
+                + (placement.startSlot() - firstSlot);
+    }
+
+    private static boolean isFree(BitSet busy, int start, int slots) {
+        int nextBusy = busy.nextSetBit(start);
+        return nextBusy < 0 || nextBusy >= start + slots;
+    }
+
+    private static void orInto(BitSet target, BitSet source) {
+        if (source != null) {
+            target.or(source);
+        }
+    }
+}
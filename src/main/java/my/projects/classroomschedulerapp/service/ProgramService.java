@@ -16,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 @Service
 public class ProgramService {
@@ -25,16 +24,19 @@ public class ProgramService {
     private final ObjectProvider<ProgramService> self;
     private final ProgramRepository programRepository;
     private final DepartmentRepository departmentRepository;
+    private final DtoMapper dtoMapper;
 
     public ProgramService(ObjectProvider<ProgramService> self,
-                          ProgramRepository programRepository, DepartmentRepository departmentRepository) {
+                          ProgramRepository programRepository, DepartmentRepository departmentRepository,
+                          DtoMapper dtoMapper) {
         this.self = self;
         this.programRepository = programRepository;
         this.departmentRepository = departmentRepository;
+        this.dtoMapper = dtoMapper;
     }
 
     // Asynchronous method to get all programs
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<List<ProgramDto>> getAllProgramsAsync() {
         logger.debug("Asynchronously fetching all programs");
         List<ProgramDto> programs = self.getObject().getAllPrograms();
@@ -42,14 +44,14 @@ public class ProgramService {
     }
 
     // Asynchronous method to get programs by department
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<List<ProgramDto>> getProgramsByDepartmentAsync(Long departmentId) {
         logger.debug("Asynchronously fetching programs for department id: {}", departmentId);
         List<ProgramDto> programs = self.getObject().getProgramsByDepartment(departmentId);
         return CompletableFuture.completedFuture(programs);
     }
 
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<ProgramDto> getProgramByIdAsync(Long id) {
         logger.debug("Asynchronously fetching program with id: {}", id);
         ProgramDto program = self.getObject().getProgramById(id);
@@ -60,16 +62,14 @@ public class ProgramService {
     @Transactional(readOnly = true)
     public List<ProgramDto> getAllPrograms() {
         logger.debug("Fetching all programs");
-        List<ProgramDto> programs = programRepository.findAll().parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<ProgramDto> programs = dtoMapper.mapAll("programs", programRepository.findAll(), this::convertToDto);
         logger.debug("Found {} programs", programs.size());
         return programs;
     }
 
     // Get program by ID
     @Transactional(readOnly = true)
-    @Cacheable(value = "programDetails", key = "#id")
+    @Cacheable(value = "programDetails", key = "#id", sync = true)
     public ProgramDto getProgramById(Long id) {
         logger.debug("Fetching program with id: {}", id);
         Program program = programRepository.findById(id)
@@ -83,7 +83,7 @@ public class ProgramService {
 
     // Get programs by department ID
     @Transactional(readOnly = true)
-    @Cacheable(value = "programsByDepartment", key = "#departmentId")
+    @Cacheable(value = "programsByDepartment", key = "#departmentId", sync = true)
     public List<ProgramDto> getProgramsByDepartment(Long departmentId) {
         logger.debug("Fetching programs for department id: {}", departmentId);
 
@@ -92,9 +92,8 @@ public class ProgramService {
             throw new ResourceNotFoundException("Department not found with id: " + departmentId);
         }
 
-        List<ProgramDto> programs = programRepository.findByDepartmentId(departmentId).parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<ProgramDto> programs = dtoMapper.mapAll("programsByDepartment",
+                programRepository.findByDepartmentId(departmentId), this::convertToDto);
 
         logger.debug("Found {} programs for department id: {}", programs.size(), departmentId);
         return programs;
@@ -0,0 +1,34 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.RecurrencePatternDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Expands a recurrence pattern into the concrete dates it covers
+final class RecurrenceDates {
+
+    private RecurrenceDates() {
+    }
+
+    // Generate dates based on the recurrence pattern, in ascending order
+    static List<LocalDate> generate(RecurrencePatternDto pattern) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate currentDate = pattern.getStartDate();
+
+        while (!currentDate.isAfter(pattern.getEndDate())) {
+            // Get day of week (Java's DayOfWeek is 1-based with Monday=1, Sunday=7)
+            // Convert to our 0-based system (Sunday=0, Monday=1)
+            int dayOfWeek = currentDate.getDayOfWeek().getValue() % 7; // Convert to 0-based
+
+            if (pattern.getDaysOfWeek().contains(dayOfWeek)) {
+                dates.add(currentDate);
+            }
+
+            currentDate = currentDate.plusDays(1);
+        }
+
+        return dates;
+    }
+}
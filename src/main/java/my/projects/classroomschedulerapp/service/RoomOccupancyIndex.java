@@ -0,0 +1,237 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.AvailableSlotDto;
+import my.projects.classroomschedulerapp.dto.RoomDto;
+import my.projects.classroomschedulerapp.dto.SlotSearchRequestDto;
+import my.projects.classroomschedulerapp.event.CacheInvalidationTransport;
+import my.projects.classroomschedulerapp.event.RoomDay;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// In-memory occupancy of every room-day as a bitset of 5-minute slots, used to answer availability
+// queries for any time window without touching the database. Bookings are kept in step by the conflict
+// index; rooms changed on other nodes arrive through the cache invalidation transport and are re-read.
+@Component
+public class RoomOccupancyIndex {
+
+    static final int SLOT_MINUTES = 5;
+    static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomOccupancyIndex.class);
+    private final RoomRepository roomRepository;
+    // Room catalog ordered by id, so availability results keep a stable order
+    private final NavigableMap<Long, RoomDto> rooms = new ConcurrentSkipListMap<>();
+    // Busy slots per date and room; bitsets are never mutated once published
+    private final Map<LocalDate, Map<Long, BitSet>> busyByDate = new ConcurrentHashMap<>();
+    private volatile boolean roomsLoaded;
+    private volatile boolean occupancyLoaded;
+
+    public RoomOccupancyIndex(RoomRepository roomRepository, CacheInvalidationTransport transport) {
+        this.roomRepository = roomRepository;
+        transport.subscribe(invalidation -> invalidation.roomIds().forEach(this::refreshRoom));
+    }
+
+    // Load the room catalog once the application (and sample data) is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadRooms() {
+        // The query runs under the lock so that room changes committed meanwhile are applied after it
+        rooms.clear();
+        roomRepository.findAll().forEach(room -> rooms.put(room.getId(), toDto(room)));
+        roomsLoaded = true;
+        logger.info("Room occupancy index loaded {} rooms", rooms.size());
+    }
+
+    public boolean isLoaded() {
+        return roomsLoaded && occupancyLoaded;
+    }
+
+    // Find rooms with no booked slot inside the window on the given date
+    public List<RoomDto> findAvailableRooms(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        // An empty or inverted window masks no slot and would report every room as available
+        if (!startTime.isBefore(endTime)) {
+            throw new InvalidRequestException("startTime must be before endTime");
+        }
+        BitSet window = windowMask(startTime, endTime);
+        Map<Long, BitSet> busyRooms = busyByDate.getOrDefault(date, Map.of());
+
+        List<RoomDto> available = new ArrayList<>();
+        for (RoomDto room : rooms.values()) {
+            BitSet busy = busyRooms.get(room.getId());
+            if (busy == null || !busy.intersects(window)) {
+                available.add(room);
+            }
+        }
+        return available;
+    }
+
+    // Find the earliest free slots of the requested length, walking dates in order and scanning the
+    // gaps between busy runs of each matching room's bitset
+    public List<AvailableSlotDto> findEarliestSlots(SlotSearchRequestDto request) {
+        int slotsNeeded = (request.getDurationMinutes() + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        int firstSlot = ceilSlot(request.getEarliestStart().toSecondOfDay());
+        int lastSlot = floorSlot(request.getLatestEnd().toSecondOfDay());
+
+        List<RoomDto> candidateRooms = rooms.values().stream()
+                .filter(room -> request.getBuildingId() == null
+                        || request.getBuildingId().equals(room.getBuildingId()))
+                .filter(room -> request.getMinCapacity() == null
+                        || room.getCapacity() >= request.getMinCapacity())
+                .filter(room -> !Boolean.TRUE.equals(request.getHasProjector()) || room.isHasProjector())
+                .filter(room -> !Boolean.TRUE.equals(request.getHasComputers()) || room.isHasComputers())
+                .toList();
+
+        List<AvailableSlotDto> slots = new ArrayList<>();
+        for (LocalDate date = request.getStartDate();
+             !date.isAfter(request.getEndDate()) && slots.size() < request.getLimit();
+             date = date.plusDays(1)) {
+
+            Map<Long, BitSet> busyRooms = busyByDate.getOrDefault(date, Map.of());
+            List<AvailableSlotDto> daySlots = new ArrayList<>();
+            for (RoomDto room : candidateRooms) {
+                BitSet busy = busyRooms.get(room.getId());
+                int gapStart = busy == null ? firstSlot : busy.nextClearBit(firstSlot);
+                while (gapStart + slotsNeeded <= lastSlot) {
+                    int nextBusy = busy == null ? -1 : busy.nextSetBit(gapStart);
+                    int gapEnd = nextBusy < 0 ? lastSlot : Math.min(nextBusy, lastSlot);
+                    if (gapEnd - gapStart >= slotsNeeded) {
+                        LocalTime startTime = LocalTime.ofSecondOfDay((long) gapStart * SLOT_SECONDS);
+                        daySlots.add(new AvailableSlotDto(room.getId(), room.getRoomNumber(),
+                                room.getBuildingId(), room.getBuildingName(), room.getCapacity(), date,
+                                startTime, startTime.plusMinutes(request.getDurationMinutes())));
+                    }
+                    if (nextBusy < 0) {
+                        break;
+                    }
+                    gapStart = busy.nextClearBit(nextBusy);
+                }
+            }
+
+            // Earliest start first within a day; rooms are already in id order
+            daySlots.sort(Comparator.comparing(AvailableSlotDto::getStartTime));
+            for (AvailableSlotDto slot : daySlots) {
+                if (slots.size() == request.getLimit()) {
+                    break;
+                }
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    // Current room catalog in id order
+    public List<RoomDto> rooms() {
+        return List.copyOf(rooms.values());
+    }
+
+    // Busy slots of the room on the given date, or null when it is free all day; the bitset is
+    // shared with the index and must not be modified
+    BitSet busySlots(Long roomId, LocalDate date) {
+        return busyByDate.getOrDefault(date, Map.of()).get(roomId);
+    }
+
+    // Record or drop a room in the catalog once the surrounding transaction commits
+    public void recordRoomAfterCommit(RoomDto room) {
+        TransactionHooks.afterCommit(() -> putRoom(room));
+    }
+
+    public void removeRoomAfterCommit(Long roomId) {
+        TransactionHooks.afterCommit(() -> removeRoom(roomId));
+    }
+
+    // Re-read a room changed on another node, dropping it when it no longer exists
+    synchronized void refreshRoom(Long roomId) {
+        roomRepository.findById(roomId).ifPresentOrElse(
+                room -> rooms.put(roomId, toDto(room)),
+                () -> removeRoom(roomId));
+    }
+
+    synchronized void putRoom(RoomDto room) {
+        rooms.put(room.getId(), room);
+    }
+
+    synchronized void removeRoom(Long roomId) {
+        rooms.remove(roomId);
+        busyByDate.values().forEach(busyRooms -> busyRooms.remove(roomId));
+    }
+
+    // Replace all occupancy with the given room-days; called by the conflict index after it loads
+    synchronized void replaceAll(
+            Map<RoomDay, ScheduleConflictIndex.RoomDayIntervals> intervalsByRoomDay) {
+        busyByDate.clear();
+        intervalsByRoomDay.forEach((roomDay, intervals) -> update(roomDay, intervals.intervals()));
+        occupancyLoaded = true;
+    }
+
+    // Rebuild the bitset of one room-day from its current intervals; called by the conflict index
+    synchronized void update(RoomDay roomDay,
+                             Collection<ScheduleConflictIndex.Interval> intervals) {
+        if (intervals.isEmpty()) {
+            busyByDate.computeIfPresent(roomDay.date(), (date, busyRooms) -> {
+                busyRooms.remove(roomDay.roomId());
+                return busyRooms.isEmpty() ? null : busyRooms;
+            });
+            return;
+        }
+
+        BitSet busy = new BitSet(SLOTS_PER_DAY);
+        for (ScheduleConflictIndex.Interval interval : intervals) {
+            int fromSlot = floorSlot(interval.start());
+            int toSlot = ceilSlot(interval.end());
+            if (fromSlot < toSlot) {
+                busy.set(fromSlot, toSlot);
+            }
+        }
+        busyByDate.computeIfAbsent(roomDay.date(), date -> new ConcurrentHashMap<>())
+                .put(roomDay.roomId(), busy);
+    }
+
+    private static RoomDto toDto(Room room) {
+        return new RoomDto(
+                room.getId(),
+                room.getRoomNumber(),
+                room.getBuilding().getId(),
+                room.getBuilding().getName(),
+                room.getCapacity(),
+                room.isHasProjector(),
+                room.isHasComputers()
+        );
+    }
+
+    // Slots touched by the window; partially covered slots count as part of it
+    static BitSet windowMask(LocalTime startTime, LocalTime endTime) {
+        BitSet window = new BitSet(SLOTS_PER_DAY);
+        int fromSlot = floorSlot(startTime.toSecondOfDay());
+        int toSlot = ceilSlot(endTime.toSecondOfDay());
+        if (fromSlot < toSlot) {
+            window.set(fromSlot, toSlot);
+        }
+        return window;
+    }
+
+    static int floorSlot(int secondOfDay) {
+        return secondOfDay / SLOT_SECONDS;
+    }
+
+    static int ceilSlot(int secondOfDay) {
+        return Math.min(SLOTS_PER_DAY, (secondOfDay + SLOT_SECONDS - 1) / SLOT_SECONDS);
+    }
+}
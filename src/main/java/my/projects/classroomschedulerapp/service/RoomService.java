@@ -1,6 +1,11 @@
 package my.projects.classroomschedulerapp.service;
 
+import my.projects.classroomschedulerapp.dto.AvailableSlotDto;
 import my.projects.classroomschedulerapp.dto.RoomDto;
+import my.projects.classroomschedulerapp.dto.SlotSearchRequestDto;
+import my.projects.classroomschedulerapp.event.RoomChangedEvent;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
+import my.projects.classroomschedulerapp.exception.OccupancyLoadingException;
 import my.projects.classroomschedulerapp.exception.ResourceNotFoundException;
 import my.projects.classroomschedulerapp.model.Building;
 import my.projects.classroomschedulerapp.model.Room;
@@ -10,33 +15,46 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
 @Service
 public class RoomService {
 
     private static final Logger logger = LoggerFactory.getLogger(RoomService.class);
+    private static final int MAX_SLOT_SEARCH_DAYS = 366;
+    private static final int MAX_SLOT_SEARCH_RESULTS = 500;
     private final ObjectProvider<RoomService> self;
     private final RoomRepository roomRepository;
     private final BuildingRepository buildingRepository;
+    private final ScheduleConflictIndex conflictIndex;
+    private final RoomOccupancyIndex occupancyIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DtoMapper dtoMapper;
 
     public RoomService(ObjectProvider<RoomService> self,
-                       RoomRepository roomRepository, BuildingRepository buildingRepository) {
+                       RoomRepository roomRepository, BuildingRepository buildingRepository,
+                       ScheduleConflictIndex conflictIndex, RoomOccupancyIndex occupancyIndex,
+                       ApplicationEventPublisher eventPublisher, DtoMapper dtoMapper) {
         this.self = self;
         this.roomRepository = roomRepository;
         this.buildingRepository = buildingRepository;
+        this.conflictIndex = conflictIndex;
+        this.occupancyIndex = occupancyIndex;
+        this.eventPublisher = eventPublisher;
+        this.dtoMapper = dtoMapper;
     }
 
     // Asynchronous method to get all rooms
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<List<RoomDto>> getAllRoomsAsync() {
         logger.debug("Asynchronously fetching all rooms");
         List<RoomDto> rooms = self.getObject().getAllRooms();
@@ -44,15 +62,24 @@ public class RoomService {
     }
 
     // Asynchronous method to find available rooms
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<List<RoomDto>> findAvailableRoomsAsync(LocalDate date, LocalTime startTime, LocalTime endTime) {
         logger.debug("Asynchronously finding available rooms for date: {}, time: {}-{}", date, startTime, endTime);
         List<RoomDto> availableRooms = self.getObject().findAvailableRooms(date, startTime, endTime);
         return CompletableFuture.completedFuture(availableRooms);
     }
 
+    // Asynchronous method to find the earliest free slots
+    @Async("batchExecutor")
+    public CompletableFuture<List<AvailableSlotDto>> findAvailableSlotsAsync(SlotSearchRequestDto request) {
+        logger.debug("Asynchronously searching free slots of {} minutes between {} and {}",
+                request.getDurationMinutes(), request.getStartDate(), request.getEndDate());
+        List<AvailableSlotDto> slots = self.getObject().findAvailableSlots(request);
+        return CompletableFuture.completedFuture(slots);
+    }
+
     // Asynchronous method to get room by ID
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<RoomDto> getRoomByIdAsync(Long id) {
         logger.debug("Asynchronously fetching room with id: {}", id);
         RoomDto room = self.getObject().getRoomById(id);
@@ -63,16 +90,14 @@ public class RoomService {
     @Transactional(readOnly = true)
     public List<RoomDto> getAllRooms() {
         logger.debug("Fetching all rooms");
-        List<RoomDto> rooms = roomRepository.findAll().parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<RoomDto> rooms = dtoMapper.mapAll("rooms", roomRepository.findAll(), this::convertToDto);
         logger.debug("Found {} rooms", rooms.size());
         return rooms;
     }
 
     // Get room by ID
     @Transactional(readOnly = true)
-    @Cacheable(value = "roomDetails", key = "#id")
+    @Cacheable(value = "roomDetails", key = "#id", sync = true)
     public RoomDto getRoomById(Long id) {
         logger.debug("Fetching room with id: {}", id);
         Room room = roomRepository.findById(id)
@@ -92,7 +117,10 @@ public class RoomService {
             Room room = convertToEntity(roomDto);
             Room savedRoom = roomRepository.save(room);
             logger.info("Room created successfully with id: {}", savedRoom.getId());
-            return convertToDto(savedRoom);
+            RoomDto savedRoomDto = convertToDto(savedRoom);
+            occupancyIndex.recordRoomAfterCommit(savedRoomDto);
+            eventPublisher.publishEvent(new RoomChangedEvent(savedRoom.getId()));
+            return savedRoomDto;
         } catch (ResourceNotFoundException e) {
             logger.error("Failed to create room: {}", e.getMessage());
             throw e;
@@ -128,7 +156,10 @@ public class RoomService {
 
         Room updatedRoom = roomRepository.save(room);
         logger.info("Room updated successfully: {}", updatedRoom.getId());
-        return convertToDto(updatedRoom);
+        RoomDto updatedRoomDto = convertToDto(updatedRoom);
+        occupancyIndex.recordRoomAfterCommit(updatedRoomDto);
+        eventPublisher.publishEvent(new RoomChangedEvent(id));
+        return updatedRoomDto;
     }
 
     // Delete a room
@@ -140,21 +171,64 @@ public class RoomService {
             throw new ResourceNotFoundException("Room not found with id: " + id);
         }
         roomRepository.deleteById(id);
+        // Schedules of the room are removed by cascade, so drop them from the in-memory indexes too
+        conflictIndex.removeRoomAfterCommit(id);
+        occupancyIndex.removeRoomAfterCommit(id);
+        eventPublisher.publishEvent(new RoomChangedEvent(id));
         logger.info("Room successfully deleted with id: {}", id);
     }
 
     // Find available rooms for a given date and time
-    @Transactional(readOnly = true)
-    @Cacheable(value = "availableRooms", key = "{#date.toString(), #startTime.toString(), #endTime.toString()}")
     public List<RoomDto> findAvailableRooms(LocalDate date, LocalTime startTime, LocalTime endTime) {
         logger.debug("Finding available rooms for date: {}, time: {}-{}", date, startTime, endTime);
-        List<RoomDto> availableRooms = roomRepository.findAvailableRooms(date, startTime, endTime).parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        if (!startTime.isBefore(endTime)) {
+            throw new InvalidRequestException("startTime must be before endTime");
+        }
+        List<RoomDto> availableRooms;
+        if (occupancyIndex.isLoaded()) {
+            // Served from the in-memory occupancy bitsets, so any window is answered without a query
+            availableRooms = occupancyIndex.findAvailableRooms(date, startTime, endTime);
+        } else {
+            availableRooms = dtoMapper.mapAll("availableRooms",
+                    roomRepository.findAvailableRooms(date, startTime, endTime), this::convertToDto);
+        }
         logger.debug("Found {} available rooms", availableRooms.size());
         return availableRooms;
     }
 
+    // Find the first free (room, date, start) slots that fit the requested duration and room requirements
+    public List<AvailableSlotDto> findAvailableSlots(SlotSearchRequestDto request) {
+        validateSlotSearch(request);
+        if (!occupancyIndex.isLoaded()) {
+            throw new OccupancyLoadingException("Room occupancy is still loading, please retry shortly");
+        }
+
+        List<AvailableSlotDto> slots = occupancyIndex.findEarliestSlots(request);
+        logger.debug("Found {} free slots of {} minutes", slots.size(), request.getDurationMinutes());
+        return slots;
+    }
+
+    // Reject searches that are malformed or unbounded
+    private void validateSlotSearch(SlotSearchRequestDto request) {
+        if (request.getDurationMinutes() <= 0) {
+            throw new InvalidRequestException("durationMinutes must be positive");
+        }
+        if (request.getStartDate() == null || request.getEndDate() == null
+                || request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidRequestException("A valid startDate and endDate are required");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= MAX_SLOT_SEARCH_DAYS) {
+            throw new InvalidRequestException("Date range cannot exceed " + MAX_SLOT_SEARCH_DAYS + " days");
+        }
+        if (request.getEarliestStart() == null || request.getLatestEnd() == null
+                || !request.getEarliestStart().isBefore(request.getLatestEnd())) {
+            throw new InvalidRequestException("earliestStart must be before latestEnd");
+        }
+        if (request.getLimit() <= 0 || request.getLimit() > MAX_SLOT_SEARCH_RESULTS) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_SLOT_SEARCH_RESULTS);
+        }
+    }
+
     // Convert Room entity to DTO
     private RoomDto convertToDto(Room room) {
         return new RoomDto(
@@ -0,0 +1,343 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.event.CacheInvalidationTransport;
+import my.projects.classroomschedulerapp.event.LoggedInvalidation;
+import my.projects.classroomschedulerapp.event.ScheduleChange;
+import my.projects.classroomschedulerapp.exception.ResourceNotFoundException;
+import my.projects.classroomschedulerapp.repository.BuildingRepository;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes committed schedule changes to subscribers, so clients can stop polling the schedule listings.
+// Changes are read from the change log the cache invalidation transport keeps, so every node publishes the
+// changes committed on any node, in log order. Ids are "<log id>-<index>" and mean the same on every node: a
+// client resumes on any node from the last id it saw, the changes it missed are replayed from the log, and a
+// client resuming from further back than the log retains is told to reset instead of silently missing changes.
+// One dispatch thread follows the log and decides what each subscriber gets, in log order. Sending happens on
+// a thread of its own per subscription, behind a queue of queue-size deliveries, so a slow client only holds up
+// itself; a client that falls further behind is disconnected and resumes from the last event it received.
+@Component
+public class ScheduleChangeFeed implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleChangeFeed.class);
+    private final RoomRepository roomRepository;
+    private final BuildingRepository buildingRepository;
+    private final CacheInvalidationTransport transport;
+    private final int maxSubscribers;
+    private final int queueSize;
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "schedule-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger senderCount = new AtomicInteger();
+    // Threads only live while a subscription has deliveries queued
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "schedule-change-sender-" + senderCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // Confined to the dispatch thread
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private long lastLogId;
+
+    public ScheduleChangeFeed(RoomRepository roomRepository, BuildingRepository buildingRepository,
+                              CacheInvalidationTransport transport,
+                              @Value("${app.schedules.feed.max-subscribers:1000}") int maxSubscribers,
+                              @Value("${app.schedules.feed.queue-size:100}") int queueSize) {
+        this.roomRepository = roomRepository;
+        this.buildingRepository = buildingRepository;
+        this.transport = transport;
+        this.maxSubscribers = maxSubscribers;
+        this.queueSize = queueSize;
+        // Following from the dispatch thread sets the starting position before anything is dispatched
+        dispatcher.execute(() -> lastLogId = transport.follow(logged -> dispatcher.execute(() -> dispatch(logged))));
+    }
+
+    // Receives the changes of one subscription; a send that fails ends it. position stands for every change
+    // the subscriber has been sent so far, and is what the client resumes from if it reconnects then
+    public interface Subscriber {
+        // The subscription started without an event id to resume from
+        void start(String position) throws IOException;
+
+        void send(ScheduleChange change) throws IOException;
+
+        // The changes since the requested event id are gone; the client has to reload what it shows
+        void reset(String position) throws IOException;
+
+        void heartbeat(String position) throws IOException;
+
+        // The client fell too far behind; ending its connection makes it reconnect and resume
+        void close();
+    }
+
+    // Which changes a subscriber wants; null fields match everything
+    public record Filter(LocalDate date, Set<Long> roomIds, Long userId) {
+
+        boolean matches(ScheduleChange change) {
+            return (date == null || date.equals(change.date()) || date.equals(change.previousDate()))
+                    && (roomIds == null || roomIds.contains(change.roomId())
+                    || roomIds.contains(change.previousRoomId()))
+                    && (userId == null || userId.equals(change.userId()));
+        }
+    }
+
+    // Build a filter; a building stands for the rooms it has now
+    public Filter filter(LocalDate date, Long roomId, Long buildingId, Long userId) {
+        Set<Long> roomIds = null;
+        if (buildingId != null) {
+            if (!buildingRepository.existsById(buildingId)) {
+                throw new ResourceNotFoundException("Building not found with id: " + buildingId);
+            }
+            roomIds = new HashSet<>(roomRepository.findIdsByBuildingId(buildingId));
+        }
+        if (roomId != null) {
+            roomIds = roomIds == null || roomIds.contains(roomId) ? Set.of(roomId) : Set.of();
+        }
+        return new Filter(date, roomIds, userId);
+    }
+
+    // Start delivering matching changes, first replaying those after lastEventId when one is given.
+    // The returned handle ends the subscription; call it when the client goes away.
+    public Runnable subscribe(Filter filter, String lastEventId, Subscriber subscriber) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TaskRejectedException("Schedule change feed has " + maxSubscribers + " subscribers already");
+        }
+        Subscription subscription = new Subscription(filter, subscriber);
+        dispatcher.execute(() -> {
+            if (lastEventId == null) {
+                subscription.resumeAfter(lastLogId, Integer.MAX_VALUE);
+                String position = position(subscription);
+                enqueue(subscription, receiver -> receiver.start(position));
+            } else {
+                replay(subscription, lastEventId);
+            }
+            if (!subscription.ended) {
+                subscriptions.add(subscription);
+            }
+        });
+        return () -> dispatcher.execute(() -> end(subscription));
+    }
+
+    // Lets idle connections through proxies and finds the clients that went away without closing. Each
+    // heartbeat carries the client's position, so a client whose filter matches nothing for a long time
+    // still resumes from a part of the log that is kept.
+    @Scheduled(fixedDelayString = "${app.schedules.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        dispatcher.execute(() -> List.copyOf(subscriptions).forEach(subscription -> {
+            String position = position(subscription);
+            enqueue(subscription, subscriber -> subscriber.heartbeat(position));
+        }));
+    }
+
+    private void dispatch(LoggedInvalidation logged) {
+        lastLogId = logged.id();
+        List<ScheduleChange> changes = numbered(logged);
+        for (Subscription subscription : List.copyOf(subscriptions)) {
+            List<ScheduleChange> wanted = wanted(subscription, logged.id(), changes);
+            if (!wanted.isEmpty()) {
+                enqueue(subscription, subscriber -> send(subscriber, wanted));
+            }
+        }
+    }
+
+    // Queue what the subscriber missed, as a single delivery
+    private void replay(Subscription subscription, String lastEventId) {
+        // The log id, and the index within it when the event was a change rather than a position
+        String[] parts = lastEventId.split("-");
+        long afterLogId;
+        int afterIndex;
+        try {
+            if (parts.length > 2) {
+                reset(subscription);
+                return;
+            }
+            afterLogId = Long.parseLong(parts[0]);
+            afterIndex = parts.length == 1 ? Integer.MAX_VALUE : Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            reset(subscription);
+            return;
+        }
+        subscription.resumeAfter(afterLogId, afterIndex);
+        boolean wholeEntry = afterIndex == Integer.MAX_VALUE;
+        // A node that has not caught up with the log yet delivers the rest once the changes arrive
+        if (afterLogId > lastLogId || (afterLogId == lastLogId && wholeEntry)) {
+            return;
+        }
+        // After a change id, the rest of that change's log entry is still to come
+        List<LoggedInvalidation> missed = transport.replay(wholeEntry ? afterLogId : afterLogId - 1, lastLogId);
+        if (missed == null) {
+            reset(subscription);
+            return;
+        }
+        List<ScheduleChange> wanted = new ArrayList<>();
+        for (LoggedInvalidation logged : missed) {
+            wanted.addAll(wanted(subscription, logged.id(), numbered(logged)));
+        }
+        if (!wanted.isEmpty()) {
+            enqueue(subscription, subscriber -> send(subscriber, wanted));
+        }
+    }
+
+    private void reset(Subscription subscription) {
+        subscription.resumeAfter(lastLogId, Integer.MAX_VALUE);
+        String position = position(subscription);
+        enqueue(subscription, subscriber -> subscriber.reset(position));
+    }
+
+    // The changes of one log entry the subscription wants
+    private static List<ScheduleChange> wanted(Subscription subscription, long logId, List<ScheduleChange> changes) {
+        List<ScheduleChange> wanted = new ArrayList<>();
+        for (int index = 0; index < changes.size(); index++) {
+            ScheduleChange change = changes.get(index);
+            if (subscription.isAfterResumePoint(logId, index) && subscription.filter.matches(change)) {
+                wanted.add(change);
+            }
+        }
+        return wanted;
+    }
+
+    private static void send(Subscriber subscriber, List<ScheduleChange> changes) throws IOException {
+        for (ScheduleChange change : changes) {
+            subscriber.send(change);
+        }
+    }
+
+    private static List<ScheduleChange> numbered(LoggedInvalidation logged) {
+        List<ScheduleChange> changes = logged.invalidation().changes();
+        List<ScheduleChange> numbered = new ArrayList<>(changes.size());
+        for (int index = 0; index < changes.size(); index++) {
+            numbered.add(changes.get(index).withId(logged.id() + "-" + index));
+        }
+        return numbered;
+    }
+
+    // Everything up to the last log entry dispatched, or the point the client resumed from when that lies
+    // further along the log than this node has come
+    private String position(Subscription subscription) {
+        if (subscription.resumeLogId > lastLogId) {
+            return subscription.resumeIndex == Integer.MAX_VALUE ? String.valueOf(subscription.resumeLogId)
+                    : subscription.resumeLogId + "-" + subscription.resumeIndex;
+        }
+        return String.valueOf(lastLogId);
+    }
+
+    private void enqueue(Subscription subscription, Delivery delivery) {
+        if (subscription.ended || subscription.offer(delivery)) {
+            return;
+        }
+        logger.debug("Closing a schedule change subscription that fell {} deliveries behind", queueSize);
+        end(subscription);
+        // Closing may wait for the send the client is stuck in
+        senders.execute(subscription.subscriber::close);
+    }
+
+    private void end(Subscription subscription) {
+        if (subscription.ended) {
+            return;
+        }
+        subscription.ended = true;
+        subscription.discard();
+        subscriptions.remove(subscription);
+        subscriberCount.decrementAndGet();
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private interface Delivery {
+        void deliver(Subscriber subscriber) throws IOException;
+    }
+
+    private final class Subscription {
+        private final Filter filter;
+        private final Subscriber subscriber;
+        // Confined to the dispatch thread: whether the subscription ended, and the last change the client has
+        private boolean ended;
+        private long resumeLogId;
+        private int resumeIndex;
+        // Guarded by the subscription
+        private final Deque<Delivery> queue = new ArrayDeque<>();
+        private boolean sending;
+        private boolean discarded;
+
+        private Subscription(Filter filter, Subscriber subscriber) {
+            this.filter = Objects.requireNonNull(filter);
+            this.subscriber = subscriber;
+        }
+
+        void resumeAfter(long logId, int index) {
+            resumeLogId = logId;
+            resumeIndex = index;
+        }
+
+        boolean isAfterResumePoint(long logId, int index) {
+            return logId > resumeLogId || (logId == resumeLogId && index > resumeIndex);
+        }
+
+        // Queue a delivery for the sender; false when queueSize deliveries are waiting already
+        synchronized boolean offer(Delivery delivery) {
+            if (discarded) {
+                return true;
+            }
+            if (queue.size() >= queueSize) {
+                return false;
+            }
+            queue.addLast(delivery);
+            if (!sending) {
+                sending = true;
+                senders.execute(this::drain);
+            }
+            return true;
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            queue.clear();
+        }
+
+        private void drain() {
+            while (true) {
+                Delivery next;
+                synchronized (this) {
+                    next = discarded ? null : queue.pollFirst();
+                    if (next == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    next.deliver(subscriber);
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Ending schedule change subscription: {}", e.getMessage());
+                    discard();
+                    dispatcher.execute(() -> end(this));
+                }
+            }
+        }
+    }
+}
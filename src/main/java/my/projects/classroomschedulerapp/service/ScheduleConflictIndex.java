@@ -0,0 +1,357 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.event.CacheInvalidation;
+import my.projects.classroomschedulerapp.event.CacheInvalidationTransport;
+import my.projects.classroomschedulerapp.event.RoomDay;
+import my.projects.classroomschedulerapp.model.Schedule;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.ScheduleIntervalView;
+import my.projects.classroomschedulerapp.repository.ScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// In-memory index of booked intervals per (room, date). Create and update check it before writing, and the dry run
+// reads existing bookings from it, so neither needs a database round trip when there is no conflict. The
+// schedule_slots constraint stays the authority; this index only spares the work of a doomed insert.
+// Changes committed on other nodes arrive as room-days through the cache invalidation transport and are
+// reloaded from the database, so the index and the occupancy bitsets built from it follow them.
+@Component
+public class ScheduleConflictIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleConflictIndex.class);
+    private final ScheduleRepository scheduleRepository;
+    private final RoomRepository roomRepository;
+    private final RoomOccupancyIndex occupancyIndex;
+    // Immutable interval arrays per room-day, swapped atomically so readers never lock
+    private final Map<RoomDay, RoomDayIntervals> intervalsByRoomDay = new ConcurrentHashMap<>();
+    // Current position of every indexed schedule, needed to move or drop it on update and delete
+    private final Map<Long, Interval> intervalsById = new ConcurrentHashMap<>();
+    // Changes committed while the initial snapshot is loading, replayed on top of it
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    private boolean loading = true;
+    private volatile boolean loaded;
+
+    public ScheduleConflictIndex(ScheduleRepository scheduleRepository, RoomRepository roomRepository,
+                                 RoomOccupancyIndex occupancyIndex, CacheInvalidationTransport transport) {
+        this.scheduleRepository = scheduleRepository;
+        this.roomRepository = roomRepository;
+        this.occupancyIndex = occupancyIndex;
+        transport.subscribe(this::apply);
+    }
+
+    // Load every schedule into the index once the application (and sample data) is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        logger.info("Loading schedule conflict index");
+        synchronized (this) {
+            loading = true;
+        }
+        List<ScheduleIntervalView> views = scheduleRepository.findAllIntervals();
+
+        Map<RoomDay, List<Interval>> grouped = new HashMap<>();
+        synchronized (this) {
+            intervalsById.clear();
+            intervalsByRoomDay.clear();
+            for (ScheduleIntervalView view : views) {
+                Interval interval = Interval.of(view);
+                intervalsById.put(interval.scheduleId(), interval);
+                grouped.computeIfAbsent(interval.roomDay(), key -> new ArrayList<>()).add(interval);
+            }
+            grouped.forEach((roomDay, intervals) ->
+                    intervalsByRoomDay.put(roomDay, RoomDayIntervals.of(intervals)));
+            occupancyIndex.replaceAll(intervalsByRoomDay);
+            loading = false;
+            // Replaying is idempotent, so changes already contained in the snapshot are harmless
+            pendingChanges.forEach(Runnable::run);
+            pendingChanges.clear();
+            loaded = true;
+        }
+        logger.info("Schedule conflict index loaded with {} schedules across {} room-days",
+                views.size(), grouped.size());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Find the ids of indexed schedules in the room that overlap the given time range on the given date
+    public List<Long> findConflicts(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                    Long excludeScheduleId) {
+        RoomDayIntervals intervals = intervalsByRoomDay.get(new RoomDay(roomId, date));
+        if (intervals == null) {
+            return List.of();
+        }
+        return intervals.overlapping(startTime.toSecondOfDay(), endTime.toSecondOfDay(), excludeScheduleId).stream()
+                .map(Interval::scheduleId)
+                .toList();
+    }
+
+    // All indexed intervals of the room on the given date, ordered by start time
+    public List<Interval> intervalsOn(Long roomId, LocalDate date) {
+        RoomDayIntervals intervals = intervalsByRoomDay.get(new RoomDay(roomId, date));
+        return intervals == null ? List.of() : intervals.intervals();
+    }
+
+    // Index a saved schedule once the surrounding transaction commits
+    public void recordAfterCommit(Schedule schedule) {
+        Interval interval = Interval.of(schedule);
+        TransactionHooks.afterCommit(() -> put(interval));
+    }
+
+    // Index a batch of saved schedules once the surrounding transaction commits
+    public void recordAllAfterCommit(Collection<Schedule> schedules) {
+        List<Interval> intervals = schedules.stream().map(Interval::of).toList();
+        TransactionHooks.afterCommit(() -> intervals.forEach(this::put));
+    }
+
+    // Index schedules given a new status by a bulk update once the surrounding transaction commits
+    public void recordStatusAfterCommit(Collection<ScheduleIntervalView> views, Schedule.Status status) {
+        List<Interval> intervals = views.stream()
+                .map(view -> new Interval(view.getId(), view.getRoomId(), view.getDate(),
+                        view.getStartTime().toSecondOfDay(), view.getEndTime().toSecondOfDay(), status))
+                .toList();
+        TransactionHooks.afterCommit(() -> intervals.forEach(this::put));
+    }
+
+    // Drop a deleted schedule from the index once the surrounding transaction commits
+    public void removeAfterCommit(Long scheduleId) {
+        TransactionHooks.afterCommit(() -> remove(scheduleId));
+    }
+
+    // Drop a batch of deleted schedules from the index once the surrounding transaction commits
+    public void removeAllAfterCommit(Collection<Long> scheduleIds) {
+        List<Long> ids = List.copyOf(scheduleIds);
+        TransactionHooks.afterCommit(() -> ids.forEach(this::remove));
+    }
+
+    // Drop every schedule of a deleted room once the surrounding transaction commits
+    public void removeRoomAfterCommit(Long roomId) {
+        TransactionHooks.afterCommit(() -> removeRoom(roomId));
+    }
+
+    // Follow a change committed on another node
+    private void apply(CacheInvalidation invalidation) {
+        reload(invalidation.roomDays());
+        // Schedules of a deleted room are removed by cascade without naming their room-days
+        invalidation.roomIds().stream()
+                .filter(roomId -> !roomRepository.existsById(roomId))
+                .forEach(this::removeRoom);
+    }
+
+    // Replace the given room-days with what the database holds for them now
+    synchronized void reload(Collection<RoomDay> roomDays) {
+        if (roomDays.isEmpty()) {
+            return;
+        }
+        if (loading) {
+            pendingChanges.add(() -> reload(roomDays));
+            return;
+        }
+
+        // Queried under the lock so that changes committed on this node meanwhile are applied after it
+        Set<RoomDay> reloaded = new HashSet<>(roomDays);
+        Map<RoomDay, List<Interval>> fresh = new HashMap<>();
+        reloaded.stream().collect(Collectors.groupingBy(RoomDay::roomId)).forEach((roomId, days) -> {
+            LocalDate from = days.stream().map(RoomDay::date).min(LocalDate::compareTo).orElseThrow();
+            LocalDate to = days.stream().map(RoomDay::date).max(LocalDate::compareTo).orElseThrow();
+            for (ScheduleIntervalView view : scheduleRepository.findIntervalsForRoom(roomId, from, to)) {
+                Interval interval = Interval.of(view);
+                if (reloaded.contains(interval.roomDay())) {
+                    fresh.computeIfAbsent(interval.roomDay(), key -> new ArrayList<>()).add(interval);
+                }
+            }
+        });
+
+        for (RoomDay roomDay : reloaded) {
+            RoomDayIntervals stale = intervalsByRoomDay.remove(roomDay);
+            if (stale != null) {
+                stale.intervals().forEach(interval -> intervalsById.remove(interval.scheduleId(), interval));
+            }
+        }
+        fresh.forEach((roomDay, intervals) -> {
+            for (Interval interval : intervals) {
+                Interval previous = intervalsById.put(interval.scheduleId(), interval);
+                // A schedule moved here from a room-day this change did not name
+                if (previous != null && !reloaded.contains(previous.roomDay())) {
+                    detach(previous);
+                }
+            }
+            intervalsByRoomDay.put(roomDay, RoomDayIntervals.of(intervals));
+        });
+        for (RoomDay roomDay : reloaded) {
+            occupancyIndex.update(roomDay, intervalsOn(roomDay.roomId(), roomDay.date()));
+        }
+    }
+
+    // Insert or move a schedule in the index
+    synchronized void put(Interval interval) {
+        if (loading) {
+            pendingChanges.add(() -> put(interval));
+            return;
+        }
+        Interval previous = intervalsById.put(interval.scheduleId(), interval);
+        if (previous != null) {
+            detach(previous);
+        }
+        RoomDayIntervals updated = intervalsByRoomDay.merge(interval.roomDay(),
+                RoomDayIntervals.of(List.of(interval)), (existing, added) -> existing.with(interval));
+        occupancyIndex.update(interval.roomDay(), updated.intervals());
+    }
+
+    // Remove a schedule from the index
+    synchronized void remove(Long scheduleId) {
+        if (loading) {
+            pendingChanges.add(() -> remove(scheduleId));
+            return;
+        }
+        Interval previous = intervalsById.remove(scheduleId);
+        if (previous != null) {
+            detach(previous);
+        }
+    }
+
+    // Remove every schedule of a room from the index
+    synchronized void removeRoom(Long roomId) {
+        if (loading) {
+            pendingChanges.add(() -> removeRoom(roomId));
+            return;
+        }
+        intervalsById.values().removeIf(interval -> interval.roomId().equals(roomId));
+        intervalsByRoomDay.keySet().removeIf(roomDay -> roomDay.roomId().equals(roomId));
+    }
+
+    // Remove an interval from its room-day, dropping the room-day when it becomes empty
+    private void detach(Interval interval) {
+        RoomDayIntervals remaining = intervalsByRoomDay.computeIfPresent(interval.roomDay(),
+                (roomDay, existing) -> {
+                    RoomDayIntervals rest = existing.without(interval.scheduleId());
+                    return rest.isEmpty() ? null : rest;
+                });
+        occupancyIndex.update(interval.roomDay(), remaining == null ? List.of() : remaining.intervals());
+    }
+
+    // A booked time range, stored as seconds of the day for cheap comparisons
+    public record Interval(Long scheduleId, Long roomId, LocalDate date, int start, int end,
+                           Schedule.Status status) {
+
+        static Interval of(Schedule schedule) {
+            return new Interval(schedule.getId(), schedule.getRoom().getId(), schedule.getDate(),
+                    schedule.getStartTime().toSecondOfDay(), schedule.getEndTime().toSecondOfDay(),
+                    schedule.getStatus());
+        }
+
+        static Interval of(ScheduleIntervalView view) {
+            return new Interval(view.getId(), view.getRoomId(), view.getDate(),
+                    view.getStartTime().toSecondOfDay(), view.getEndTime().toSecondOfDay(), view.getStatus());
+        }
+
+        RoomDay roomDay() {
+            return new RoomDay(roomId, date);
+        }
+
+        public LocalTime startTime() {
+            return LocalTime.ofSecondOfDay(start);
+        }
+
+        public LocalTime endTime() {
+            return LocalTime.ofSecondOfDay(end);
+        }
+    }
+
+    // Intervals of one room-day sorted by start, with a running maximum of end times so that
+    // overlap queries stay correct even when legacy rows already overlap each other
+    static final class RoomDayIntervals {
+
+        private static final Comparator<Interval> BY_START = Comparator.comparingInt(Interval::start)
+                .thenComparingInt(Interval::end)
+                .thenComparing(Interval::scheduleId);
+
+        private final Interval[] byStart;
+        private final int[] maxEnd;
+
+        private RoomDayIntervals(Interval[] byStart) {
+            this.byStart = byStart;
+            this.maxEnd = new int[byStart.length];
+            int runningMax = Integer.MIN_VALUE;
+            for (int i = 0; i < byStart.length; i++) {
+                runningMax = Math.max(runningMax, byStart[i].end());
+                maxEnd[i] = runningMax;
+            }
+        }
+
+        static RoomDayIntervals of(Collection<Interval> intervals) {
+            Interval[] sorted = intervals.toArray(new Interval[0]);
+            Arrays.sort(sorted, BY_START);
+            return new RoomDayIntervals(sorted);
+        }
+
+        boolean isEmpty() {
+            return byStart.length == 0;
+        }
+
+        List<Interval> intervals() {
+            return List.of(byStart);
+        }
+
+        RoomDayIntervals with(Interval interval) {
+            int insertAt = Arrays.binarySearch(byStart, interval, BY_START);
+            insertAt = insertAt < 0 ? -insertAt - 1 : insertAt;
+            Interval[] copy = new Interval[byStart.length + 1];
+            System.arraycopy(byStart, 0, copy, 0, insertAt);
+            copy[insertAt] = interval;
+            System.arraycopy(byStart, insertAt, copy, insertAt + 1, byStart.length - insertAt);
+            return new RoomDayIntervals(copy);
+        }
+
+        RoomDayIntervals without(Long scheduleId) {
+            return new RoomDayIntervals(Arrays.stream(byStart)
+                    .filter(interval -> !interval.scheduleId().equals(scheduleId))
+                    .toArray(Interval[]::new));
+        }
+
+        // Intervals reserving a 5-minute slot in common with the range, as schedule_slots sees them.
+        // Binary search for the last interval starting before the range ends, then walk back only
+        // while some earlier interval can still reach past the range start.
+        List<Interval> overlapping(int secondsFrom, int secondsTo, Long excludeScheduleId) {
+            // Widening the range to whole slots makes a plain overlap test agree with the slots
+            int start = RoomOccupancyIndex.floorSlot(secondsFrom) * RoomOccupancyIndex.SLOT_SECONDS;
+            int end = RoomOccupancyIndex.ceilSlot(secondsTo) * RoomOccupancyIndex.SLOT_SECONDS;
+            int low = 0;
+            int high = byStart.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (byStart[mid].start() < end) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            List<Interval> overlaps = new ArrayList<>();
+            for (int i = low - 1; i >= 0 && maxEnd[i] > start; i--) {
+                Interval candidate = byStart[i];
+                if (candidate.end() > start && !candidate.scheduleId().equals(excludeScheduleId)) {
+                    overlaps.add(candidate);
+                }
+            }
+            return overlaps;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in the (date, start time, id) order of schedule listings; a page starts right after it.
+// Clients get it as an opaque string so the encoding can change without breaking them.
+record ScheduleCursor(LocalDate date, LocalTime startTime, Long id) {
+
+    static ScheduleCursor after(ScheduleDto schedule) {
+        return new ScheduleCursor(schedule.getDate(), schedule.getStartTime(), schedule.getId());
+    }
+
+    static ScheduleCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            return new ScheduleCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    String encode() {
+        String value = date + "|" + startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package my.projects.classroomschedulerapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.repository.ScheduleReadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes the full schedule set as it is read, one row at a time, so memory use does not grow with the table.
+// Rows are DTOs built by the query, so there are no entities piling up in the persistence context.
+@Service
+public class ScheduleExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleExportService.class);
+    private final ScheduleReadRepository scheduleReadRepository;
+    private final ObjectMapper objectMapper;
+    // Flushing after every row would turn the export into one small network write per row
+    private final ObjectWriter rowWriter;
+
+    public enum Format {
+        // One JSON array
+        JSON,
+        // One JSON object per line
+        NDJSON
+    }
+
+    public ScheduleExportService(ScheduleReadRepository scheduleReadRepository, ObjectMapper objectMapper) {
+        this.scheduleReadRepository = scheduleReadRepository;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(ScheduleDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // The read stays open for the whole write, so this runs in one read-only transaction
+    @Transactional(readOnly = true)
+    public void exportSchedules(Format format, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<ScheduleDto> schedules = scheduleReadRepository.streamAllDtos();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            } else {
+                // Rows are separated by the newline written after each of them instead
+                generator.setRootValueSeparator(null);
+            }
+            Iterator<ScheduleDto> iterator = schedules.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                if (format == Format.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+                exported++;
+            }
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            }
+        }
+        logger.info("Exported {} schedules as {}", exported, format);
+    }
+}
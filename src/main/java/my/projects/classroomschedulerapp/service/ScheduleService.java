@@ -1,9 +1,18 @@
 package my.projects.classroomschedulerapp.service;
 
 import my.projects.classroomschedulerapp.dto.BaseScheduleDto;
+import my.projects.classroomschedulerapp.dto.BatchDeleteResultDto;
+import my.projects.classroomschedulerapp.dto.BatchStatusUpdateResultDto;
 import my.projects.classroomschedulerapp.dto.RecurrencePatternDto;
 import my.projects.classroomschedulerapp.dto.RecurringScheduleRequestDto;
+import my.projects.classroomschedulerapp.dto.ScheduleConflictReportDto;
 import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.dto.SchedulePageDto;
+import my.projects.classroomschedulerapp.dto.SchedulePageRequestDto;
+import my.projects.classroomschedulerapp.event.RoomDay;
+import my.projects.classroomschedulerapp.event.ScheduleChange;
+import my.projects.classroomschedulerapp.event.SchedulesChangedEvent;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
 import my.projects.classroomschedulerapp.exception.ResourceNotFoundException;
 import my.projects.classroomschedulerapp.exception.ScheduleConflictException;
 import my.projects.classroomschedulerapp.model.Course;
@@ -12,54 +21,102 @@ import my.projects.classroomschedulerapp.model.Schedule;
 import my.projects.classroomschedulerapp.model.User;
 import my.projects.classroomschedulerapp.repository.CourseRepository;
 import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.ScheduleIntervalView;
+import my.projects.classroomschedulerapp.repository.ScheduleReadRepository;
 import my.projects.classroomschedulerapp.repository.ScheduleRepository;
+import my.projects.classroomschedulerapp.repository.ScheduleSlotRepository;
 import my.projects.classroomschedulerapp.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ScheduleService {
 
     private static final Logger logger = LoggerFactory.getLogger(ScheduleService.class);
+    // Largest batch that is checked or created at once; placement keeps its results within it
+    static final int MAX_DRY_RUN_CANDIDATES = 10_000;
+    // Ids per set-based statement, well below the bind parameter limits of MySQL and H2
+    private static final int BULK_CHUNK_SIZE = 1000;
     private final ObjectProvider<ScheduleService> self;
     private final ScheduleRepository scheduleRepository;
+    private final ScheduleReadRepository scheduleReadRepository;
     private final RoomRepository roomRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
+    private final ScheduleConflictIndex conflictIndex;
+    private final ScheduleSlotRepository scheduleSlotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    // Read-only transaction of its own, for lookups after a failed flush has spoiled the current one
+    private final TransactionTemplate lookupTransaction;
     // DateTimeFormatter for AM/PM format
     DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
     // More readable date format
     DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM d, yyyy");
     public ScheduleService(ObjectProvider<ScheduleService> self,
-                           ScheduleRepository scheduleRepository,
+                           ScheduleRepository scheduleRepository, ScheduleReadRepository scheduleReadRepository,
                            RoomRepository roomRepository,
-                           CourseRepository courseRepository, UserRepository userRepository) {
+                           CourseRepository courseRepository, UserRepository userRepository,
+                           ScheduleConflictIndex conflictIndex, ScheduleSlotRepository scheduleSlotRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           CacheManager cacheManager,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.schedules.page.default-size:50}") int defaultPageSize,
+                           @Value("${app.schedules.page.max-size:500}") int maxPageSize) {
         this.self = self;
         this.scheduleRepository = scheduleRepository;
+        this.scheduleReadRepository = scheduleReadRepository;
         this.roomRepository = roomRepository;
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
+        this.conflictIndex = conflictIndex;
+        this.scheduleSlotRepository = scheduleSlotRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.lookupTransaction = new TransactionTemplate(transactionManager);
+        this.lookupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lookupTransaction.setReadOnly(true);
     }
 
     // Asynchronous method to get all schedules
-    @Async("taskExecutor")
+    @Async("batchExecutor")
     public CompletableFuture<List<ScheduleDto>> getAllSchedulesAsync() {
         logger.debug("Asynchronously fetching all schedules");
         List<ScheduleDto> schedules = self.getObject().getAllSchedules();
@@ -67,7 +124,7 @@ public class ScheduleService {
     }
 
     // Asynchronous method to get schedules by date
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<List<ScheduleDto>> getSchedulesByDateAsync(LocalDate date) {
         logger.debug("Asynchronously fetching schedules for date: {}", date);
         List<ScheduleDto> schedules = self.getObject().getSchedulesByDate(date);
@@ -75,14 +132,14 @@ public class ScheduleService {
     }
 
     // Asynchronous method to create recurring schedule
-    @Async("taskExecutor")
+    @Async("writeExecutor")
     public CompletableFuture<List<ScheduleDto>> createRecurringScheduleAsync(RecurringScheduleRequestDto requestDto) {
         List<ScheduleDto> schedules = self.getObject().createRecurringSchedule(requestDto);
         return CompletableFuture.completedFuture(schedules);
     }
 
     // Asynchronous method to get schedules by id
-    @Async("taskExecutor")
+    @Async("readExecutor")
     public CompletableFuture<ScheduleDto> getScheduleByIdAsync(Long id) {
         logger.debug("Asynchronously fetching schedule with id: {}", id);
         ScheduleDto schedule = self.getObject().getScheduleById(id);
@@ -93,17 +150,14 @@ public class ScheduleService {
     @Transactional(readOnly = true)
     public List<ScheduleDto> getAllSchedules() {
         logger.debug("Fetching all schedules");
-        List<ScheduleDto> schedules = scheduleRepository.findAll()
-                .parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<ScheduleDto> schedules = scheduleReadRepository.findAllDtos();
         logger.debug("Found {} schedules", schedules.size());
         return schedules;
     }
 
     // Get schedule by ID
     @Transactional
-    @Cacheable(value = "scheduleDetails", key = "#id")
+    @Cacheable(value = "scheduleDetails", key = "#id", sync = true)
     public ScheduleDto getScheduleById(Long id) {
         logger.debug("Fetching schedule with id: {}", id);
         Schedule schedule = scheduleRepository.findById(id)
@@ -126,12 +180,6 @@ public class ScheduleService {
                 entities.course().getCourseCode(),
                 entities.user().getEmail());
 
-
-        // Check for schedule conflicts
-        checkForScheduleConflicts(entities.room(), scheduleDto.getDate(),
-                scheduleDto.getStartTime(), scheduleDto.getEndTime(), null);
-        logger.debug("No schedule conflicts found");
-
         // Create schedule
         Schedule schedule = new Schedule();
         populateScheduleFromDto(schedule, entities.room(), entities.course(), entities.user(), scheduleDto);
@@ -140,7 +188,13 @@ public class ScheduleService {
         // Set audit information
         schedule.setCreatedByEmail(entities.user().getEmail());
 
+        rejectIndexedConflicts(entities.room(), scheduleDto, null);
         Schedule savedSchedule = scheduleRepository.save(schedule);
+        // Reserving the slots is the conflict check; it only fails if another booking holds one of them
+        reserveSlots(List.of(savedSchedule), () -> checkForScheduleConflicts(entities.room(),
+                scheduleDto.getDate(), scheduleDto.getStartTime(), scheduleDto.getEndTime(), null));
+        conflictIndex.recordAfterCommit(savedSchedule);
+        eventPublisher.publishEvent(SchedulesChangedEvent.of(ScheduleChange.Type.CREATED, List.of(savedSchedule)));
         logger.debug("Schedule created successfully with id: {}", savedSchedule.getId());
         return convertToDto(savedSchedule);
     }
@@ -154,6 +208,9 @@ public class ScheduleService {
         Schedule schedule = scheduleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + id));
 
+        LocalDate previousDate = schedule.getDate();
+        Long previousRoomId = schedule.getRoom().getId();
+
         // Find and validate entities
         EntityResults entities = findAndValidateEntities(scheduleDto);
         logger.debug("Validated entities for update - room: {}, course: {}, user: {}",
@@ -161,11 +218,6 @@ public class ScheduleService {
                 entities.course().getCourseCode(),
                 entities.user().getEmail());
 
-        // Check for conflicts with other schedules (excluding this one)
-        checkForScheduleConflicts(entities.room(), scheduleDto.getDate(),
-                scheduleDto.getStartTime(), scheduleDto.getEndTime(), id);
-        logger.debug("No schedule conflicts found for update");
-
         // Update schedule details
         populateScheduleFromDto(schedule, entities.room(), entities.course(), entities.user(), scheduleDto);
 
@@ -175,7 +227,14 @@ public class ScheduleService {
         // Set audit information
         schedule.setUpdatedByEmail(entities.user().getEmail());
 
+        rejectIndexedConflicts(entities.room(), scheduleDto, id);
         Schedule updatedSchedule = scheduleRepository.save(schedule);
+        // Release the old slots and reserve the new ones; only other schedules can hold them now
+        scheduleSlotRepository.deleteBySchedule(updatedSchedule);
+        reserveSlots(List.of(updatedSchedule), () -> checkForScheduleConflicts(entities.room(),
+                scheduleDto.getDate(), scheduleDto.getStartTime(), scheduleDto.getEndTime(), id));
+        conflictIndex.recordAfterCommit(updatedSchedule);
+        eventPublisher.publishEvent(SchedulesChangedEvent.moved(updatedSchedule, previousDate, previousRoomId));
         logger.debug("Schedule updated successfully: {}", updatedSchedule.getId());
         return convertToDto(updatedSchedule);
     }
@@ -184,23 +243,23 @@ public class ScheduleService {
     @Transactional
     public void deleteSchedule(Long id) {
         logger.debug("Deleting schedule with id: {}", id);
-        if (!scheduleRepository.existsById(id)) {
-            logger.error("Schedule not found with id: {}", id);
-            throw new ResourceNotFoundException("Schedule not found with id: " + id);
-        }
+        Schedule schedule = scheduleRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.error("Schedule not found with id: {}", id);
+                    return new ResourceNotFoundException("Schedule not found with id: " + id);
+                });
         logger.debug("Schedule successfully deleted with id: {}", id);
-        scheduleRepository.deleteById(id);
+        scheduleRepository.delete(schedule);
+        conflictIndex.removeAfterCommit(id);
+        eventPublisher.publishEvent(SchedulesChangedEvent.of(ScheduleChange.Type.DELETED, List.of(schedule)));
     }
 
     // Get schedules by date
     @Transactional(readOnly = true)
-    @Cacheable(value = "schedulesByDate", key = "#date.toString()")
+    @Cacheable(value = "schedulesByDate", key = "#date.toString()", sync = true)
     public List<ScheduleDto> getSchedulesByDate(LocalDate date) {
         logger.debug("Fetching schedules for date: {}", date);
-        List<Schedule> schedules = scheduleRepository.findAllSchedulesForDate(date);
-        List<ScheduleDto> scheduleDtoByDate = schedules.parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<ScheduleDto> scheduleDtoByDate = scheduleReadRepository.findDtosByDate(date);
         logger.debug("Found {} schedules for date: {}",
                 scheduleDtoByDate.size(), date);
         return scheduleDtoByDate;
@@ -210,15 +269,12 @@ public class ScheduleService {
     @Transactional(readOnly = true)
     public List<ScheduleDto> getSchedulesByUser(Long userId) {
         logger.debug("Fetching schedules for user id: {}", userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    logger.error("User not found with id: {}", userId);
-                    return new ResourceNotFoundException("User not found with id: " + userId);
-                });
+        if (!userRepository.existsById(userId)) {
+            logger.error("User not found with id: {}", userId);
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
 
-        List<ScheduleDto> scheduleDtoByUser = scheduleRepository.findByUser(user).parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<ScheduleDto> scheduleDtoByUser = scheduleReadRepository.findDtosByUserId(userId);
         logger.debug("Found {} schedules for user id: {}", scheduleDtoByUser.size(), userId);
         return scheduleDtoByUser;
     }
@@ -227,17 +283,64 @@ public class ScheduleService {
     @Transactional(readOnly = true)
     public List<ScheduleDto> getSchedulesByEmail(String email) {
         logger.debug("Fetching schedules for user email: {}", email);
+        if (!userRepository.existsByEmail(email)) {
+            logger.error("User not found with email: {}", email);
+            throw new ResourceNotFoundException("User not found with email: " + email);
+        }
+
+        List<ScheduleDto> scheduleDtoByEmail = scheduleReadRepository.findDtosByUserEmail(email);
+        logger.debug("Found {} schedules for user email: {}", scheduleDtoByEmail.size(), email);
+        return scheduleDtoByEmail;
+    }
+
+    // Get one page of schedules in (date, start time, id) order; the cost of a page does not depend on
+    // how many schedules exist or how deep into the listing it is
+    @Transactional(readOnly = true)
+    public SchedulePageDto getSchedulesPage(SchedulePageRequestDto request) {
+        int limit = request.getLimit() != null ? request.getLimit() : defaultPageSize;
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidRequestException("limit must be between 1 and " + maxPageSize);
+        }
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidRequestException("endDate cannot be before startDate");
+        }
+        ScheduleCursor after = request.getCursor() == null || request.getCursor().isEmpty()
+                ? null : ScheduleCursor.decode(request.getCursor());
+
+        // One row past the page tells whether there is a next page
+        List<ScheduleDto> schedules = scheduleReadRepository.findDtoPage(request.getStartDate(), request.getEndDate(),
+                request.getRoomId(), request.getUserId(), request.getStatus(),
+                after != null ? after.date() : null, after != null ? after.startTime() : null,
+                after != null ? after.id() : null, Limit.of(limit + 1));
+        if (schedules.size() <= limit) {
+            return new SchedulePageDto(schedules, null);
+        }
+        List<ScheduleDto> page = schedules.subList(0, limit);
+        return new SchedulePageDto(new ArrayList<>(page), ScheduleCursor.after(page.get(limit - 1)).encode());
+    }
+
+    // Get one page of a user's schedules
+    @Transactional(readOnly = true)
+    public SchedulePageDto getSchedulesPageByUser(Long userId, SchedulePageRequestDto request) {
+        if (!userRepository.existsById(userId)) {
+            logger.error("User not found with id: {}", userId);
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        request.setUserId(userId);
+        return getSchedulesPage(request);
+    }
+
+    // Get one page of the schedules of the user with the given email
+    @Transactional(readOnly = true)
+    public SchedulePageDto getSchedulesPageByEmail(String email, SchedulePageRequestDto request) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
                     logger.error("User not found with email: {}", email);
                     return new ResourceNotFoundException("User not found with email: " + email);
                 });
-
-        List<ScheduleDto> scheduleDtoByEmail = scheduleRepository.findByUser(user).parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        logger.debug("Found {} schedules for user email: {}", scheduleDtoByEmail.size(), email);
-        return scheduleDtoByEmail;
+        request.setUserId(user.getId());
+        return getSchedulesPage(request);
     }
 
     // Create a recurring schedule based on a pattern
@@ -253,6 +356,10 @@ public class ScheduleService {
         logger.debug("Processing recurring schedule for room: {}, course: {}, user: {}",
                 baseSchedule.getRoomId(), baseSchedule.getCourseId(), baseSchedule.getUserId());
 
+        // Generate all dates in the pattern - using pattern variable
+        List<LocalDate> scheduleDates = RecurrenceDates.generate(pattern);
+        logger.debug("Generated {} dates for recurring schedule", scheduleDates.size());
+
         // Validate room and user exist
         Room room = roomRepository.findById(baseSchedule.getRoomId())
                 .orElseThrow(() -> {
@@ -274,13 +381,6 @@ public class ScheduleService {
                     return new ResourceNotFoundException("Course not found with id: " + baseSchedule.getCourseId());
                 });
 
-        // Generate all dates in the pattern - using pattern variable
-        List<LocalDate> scheduleDates = generateDatesByPattern(pattern);
-        logger.debug("Generated {} dates for recurring schedule", scheduleDates.size());
-
-        // Check for conflicts on all dates
-        checkForConflictsInParallel(room, scheduleDates, baseSchedule.getStartTime(), baseSchedule.getEndTime());
-
         // Create schedules for all dates - batch insert
         List<Schedule> schedulesToCreate = new ArrayList<>();
 
@@ -301,31 +401,13 @@ public class ScheduleService {
 
         // Batch save all schedules at once
         List<Schedule> createdSchedules = scheduleRepository.saveAll(schedulesToCreate);
+        // Reserving the slots checks all dates at once; the conflicts are only looked up when it fails
+        reserveSlots(createdSchedules, () -> checkForRecurringConflicts(room, scheduleDates,
+                baseSchedule.getStartTime(), baseSchedule.getEndTime()));
+        conflictIndex.recordAllAfterCommit(createdSchedules);
+        eventPublisher.publishEvent(SchedulesChangedEvent.of(ScheduleChange.Type.CREATED, createdSchedules));
 
-        // Convert to DTOs in parallel
-        return createdSchedules.parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-    }
-
-    // Generate dates based on the recurrence pattern
-    private List<LocalDate> generateDatesByPattern(RecurrencePatternDto pattern) {
-        List<LocalDate> dates = new ArrayList<>();
-        LocalDate currentDate = pattern.getStartDate();
-
-        while (!currentDate.isAfter(pattern.getEndDate())) {
-            // Get day of week (Java's DayOfWeek is 1-based with Monday=1, Sunday=7)
-            // Convert to our 0-based system (Sunday=0, Monday=1)
-            int dayOfWeek = currentDate.getDayOfWeek().getValue() % 7; // Convert to 0-based
-
-            if (pattern.getDaysOfWeek().contains(dayOfWeek)) {
-                dates.add(currentDate);
-            }
-
-            currentDate = currentDate.plusDays(1);
-        }
-
-        return dates;
+        return convertAllToDto(createdSchedules);
     }
 
     // Update schedule status
@@ -337,6 +419,9 @@ public class ScheduleService {
 
         schedule.setStatus(status);
         Schedule updatedSchedule = scheduleRepository.save(schedule);
+        conflictIndex.recordAfterCommit(updatedSchedule);
+        eventPublisher.publishEvent(
+                SchedulesChangedEvent.of(ScheduleChange.Type.STATUS_CHANGED, List.of(updatedSchedule)));
         logger.debug("Schedule status updated successfully: {}", updatedSchedule.getId());
         return convertToDto(updatedSchedule);
     }
@@ -344,58 +429,298 @@ public class ScheduleService {
     // Batch update status for multiple schedules
     @Transactional
     public List<ScheduleDto> updateScheduleStatusBatch(List<Long> ids, Schedule.Status status, User currentUser) {
-        logger.info("Batch updating status to {} for {} schedules", status, ids.size());
+        List<Long> updatedIds = bulkUpdateStatus(ids, status, currentUser);
+        List<ScheduleDto> updatedSchedules = new ArrayList<>(updatedIds.size());
+        for (List<Long> chunk : chunks(updatedIds)) {
+            updatedSchedules.addAll(scheduleReadRepository.findDtosByIds(chunk));
+        }
+        return updatedSchedules;
+    }
+
+    // Batch update status for multiple schedules, returning only which ones were updated
+    @Transactional
+    public BatchStatusUpdateResultDto updateScheduleStatusBatchSummary(List<Long> ids, Schedule.Status status,
+                                                                       User currentUser) {
+        List<Long> updatedIds = bulkUpdateStatus(ids, status, currentUser);
+        return new BatchStatusUpdateResultDto(new HashSet<>(ids).size(), updatedIds.size(), updatedIds);
+    }
 
-        // Find all schedules with the given IDs
-        List<Schedule> schedules = scheduleRepository.findAllById(ids);
+    // Set the status with one UPDATE per chunk of ids instead of loading and saving every schedule.
+    // The ids and dates read beforehand are what the conflict index and the caches need afterwards.
+    private List<Long> bulkUpdateStatus(List<Long> ids, Schedule.Status status, User currentUser) {
+        logger.info("Batch updating status to {} for {} schedules", status, ids.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<Long> updatedIds = new ArrayList<>();
+        Set<LocalDate> dates = new HashSet<>();
+        Set<RoomDay> roomDays = new HashSet<>();
+        List<ScheduleChange> changes = new ArrayList<>();
+        for (List<Long> chunk : chunks(distinctIds)) {
+            List<ScheduleIntervalView> found = scheduleRepository.findIntervalsByIds(chunk);
+            if (found.isEmpty()) {
+                continue;
+            }
+            List<Long> foundIds = found.stream().map(ScheduleIntervalView::getId).toList();
+            scheduleRepository.updateStatus(status, currentUser.getEmail(), now, foundIds);
+            conflictIndex.recordStatusAfterCommit(found, status);
+            updatedIds.addAll(foundIds);
+            for (ScheduleIntervalView view : found) {
+                dates.add(view.getDate());
+                roomDays.add(new RoomDay(view.getRoomId(), view.getDate()));
+            }
+            changes.addAll(scheduleChanges(ScheduleChange.Type.STATUS_CHANGED, found, status));
+        }
 
         // Check if any schedules were not found
-        if (schedules.size() < ids.size()) {
+        if (updatedIds.size() < distinctIds.size()) {
             logger.warn("Some schedules were not found during batch update. Requested: {}, Found: {}",
-                    ids.size(), schedules.size());
+                    distinctIds.size(), updatedIds.size());
         }
+        eventPublisher.publishEvent(new SchedulesChangedEvent(new HashSet<>(updatedIds), dates, roomDays, changes));
+        logger.info("Successfully updated status for {} schedules", updatedIds.size());
+        return updatedIds;
+    }
 
-        // Copy schedules to avoid concurrent modification issues
-        List<Schedule> schedulesToUpdate = new ArrayList<>(schedules);
-        schedulesToUpdate.parallelStream().forEach(schedule -> {
-            schedule.setStatus(status);
-            schedule.setUpdatedByEmail(currentUser.getEmail());
-        });
-
-        // Save all at once (this uses a single transaction)
-        List<Schedule> updatedSchedules = scheduleRepository.saveAll(schedulesToUpdate);
-        logger.info("Successfully updated status for {} schedules", updatedSchedules.size());
+    // Changes of schedules known only from their intervals; a status of null keeps the one read
+    private static List<ScheduleChange> scheduleChanges(ScheduleChange.Type type, List<ScheduleIntervalView> views,
+                                                        Schedule.Status status) {
+        return views.stream().map(view -> new ScheduleChange(null, type, view.getId(), view.getDate(), null,
+                view.getRoomId(), null, view.getUserId(), status != null ? status : view.getStatus())).toList();
+    }
 
-        // Convert to DTOs and return
-        return updatedSchedules.parallelStream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + BULK_CHUNK_SIZE, items.size())));
+        }
+        return chunks;
     }
 
-    // Batch delete schedules
+    // Batch delete schedules, one DELETE per chunk of ids without loading the schedules
     @Transactional
-    public void deleteSchedulesBatch(List<Long> ids) {
-        logger.debug("Deleting schedules batch with ids: {}", ids);
-        // Find all schedules with the given IDs
-        List<Schedule> schedules = scheduleRepository.findAllById(ids);
+    public BatchDeleteResultDto deleteSchedulesBatch(List<Long> ids) {
+        logger.debug("Deleting batch of {} schedules", ids.size());
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        List<Long> missingIds = new ArrayList<>();
+        int deleted = 0;
+        for (List<Long> chunk : chunks(distinctIds)) {
+            // The rows about to be deleted tell which ids are missing and which cached dates go stale
+            List<ScheduleIntervalView> found = scheduleRepository.findIntervalsByIds(chunk);
+            Set<Long> foundIds = new HashSet<>();
+            Set<LocalDate> dates = new HashSet<>();
+            Set<RoomDay> roomDays = new HashSet<>();
+            for (ScheduleIntervalView view : found) {
+                foundIds.add(view.getId());
+                dates.add(view.getDate());
+                roomDays.add(new RoomDay(view.getRoomId(), view.getDate()));
+            }
+            chunk.stream().filter(id -> !foundIds.contains(id)).forEach(missingIds::add);
+            if (foundIds.isEmpty()) {
+                continue;
+            }
+            deleted += scheduleRepository.deleteByIds(foundIds);
+            conflictIndex.removeAllAfterCommit(foundIds);
+            eventPublisher.publishEvent(new SchedulesChangedEvent(foundIds, dates, roomDays,
+                    scheduleChanges(ScheduleChange.Type.DELETED, found, null)));
+        }
 
         // Check if any schedules were not found
-        if (schedules.size() < ids.size()) {
-            // Log a warning
+        if (!missingIds.isEmpty()) {
             logger.warn("Some schedules were not found during batch delete. Requested: {}, Found: {}",
-                    ids.size(), schedules.size());
+                    distinctIds.size(), distinctIds.size() - missingIds.size());
+        }
+        logger.debug("Successfully deleted {} schedules", deleted);
+        return new BatchDeleteResultDto(distinctIds.size(), deleted, missingIds);
+    }
+
+    // Validate candidate schedules and report their conflicts without saving anything
+    @Transactional(readOnly = true)
+    public List<ScheduleConflictReportDto> checkScheduleConflictsBatch(List<ScheduleDto> candidates) {
+        if (candidates.size() > MAX_DRY_RUN_CANDIDATES) {
+            throw new InvalidRequestException(
+                    "Cannot check more than " + MAX_DRY_RUN_CANDIDATES + " candidates at once");
         }
+        logger.info("Dry-run conflict check for {} candidate schedules", candidates.size());
+
+        // One bulk existence lookup per entity type
+        Set<Long> existingRooms = new HashSet<>(roomRepository.findExistingIds(
+                distinctIds(candidates, ScheduleDto::getRoomId)));
+        Set<Long> existingCourses = new HashSet<>(courseRepository.findExistingIds(
+                distinctIds(candidates, ScheduleDto::getCourseId)));
+        Set<Long> existingUsers = new HashSet<>(userRepository.findExistingIds(
+                distinctIds(candidates, ScheduleDto::getUserId)));
+
+        List<ScheduleConflictReportDto> reports = new ArrayList<>(candidates.size());
+        Map<Long, List<Integer>> checkableByRoom = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            ScheduleDto candidate = candidates.get(i);
+            ScheduleConflictReportDto report = new ScheduleConflictReportDto();
+            report.setIndex(i);
+            report.setRoomId(candidate.getRoomId());
+            report.setDate(candidate.getDate());
+            report.setStartTime(candidate.getStartTime());
+            report.setEndTime(candidate.getEndTime());
+
+            boolean checkable = true;
+            if (candidate.getDate() == null || candidate.getStartTime() == null || candidate.getEndTime() == null) {
+                report.getErrors().add("Date, start time and end time are required");
+                checkable = false;
+            } else if (!candidate.getStartTime().isBefore(candidate.getEndTime())) {
+                report.getErrors().add("Start time must be before end time");
+                checkable = false;
+            }
+            if (!existingRooms.contains(candidate.getRoomId())) {
+                report.getErrors().add("Room not found with id: " + candidate.getRoomId());
+                checkable = false;
+            }
+            if (!existingCourses.contains(candidate.getCourseId())) {
+                report.getErrors().add("Course not found with id: " + candidate.getCourseId());
+            }
+            if (!existingUsers.contains(candidate.getUserId())) {
+                report.getErrors().add("User not found with id: " + candidate.getUserId());
+            }
+            report.setValid(report.getErrors().isEmpty());
 
-        // Delete all found schedules at once
-        logger.debug("Successfully deleting schedules batch with ids: {}", ids);
-        scheduleRepository.deleteAllInBatch(schedules);
+            // Candidates with a known room and a sane time range are checked even if other fields are invalid
+            if (checkable) {
+                checkableByRoom.computeIfAbsent(candidate.getRoomId(), roomId -> new ArrayList<>()).add(i);
+            }
+            reports.add(report);
+        }
+
+        // Each room is independent, so partitions are swept in parallel; every report belongs to one partition
+        checkableByRoom.entrySet().parallelStream().forEach(partition ->
+                sweepRoomCandidates(partition.getKey(), partition.getValue(), candidates, reports));
+
+        long conflicting = reports.stream().filter(ScheduleConflictReportDto::isConflicting).count();
+        logger.info("Dry-run conflict check found {} conflicting candidates out of {}",
+                conflicting, candidates.size());
+        return reports;
     }
 
-    // Update the time conflict check to work with LocalTime directly
-    private boolean hasTimeConflict(Schedule existingSchedule, LocalTime newStartTime, LocalTime newEndTime) {
-        // Flag as conflict if time periods actually overlap
-        return newStartTime.isBefore(existingSchedule.getEndTime()) &&
-                existingSchedule.getStartTime().isBefore(newEndTime);
+    // Create a batch of schedules all or nothing, rejecting it if any candidate is invalid or conflicts
+    @Transactional
+    public List<ScheduleDto> createSchedulesBatch(List<ScheduleDto> scheduleDtos) {
+        logger.info("Creating batch of {} schedules", scheduleDtos.size());
+        List<ScheduleConflictReportDto> reports = checkScheduleConflictsBatch(scheduleDtos);
+
+        List<String> errors = reports.stream()
+                .filter(report -> !report.isValid())
+                .flatMap(report -> report.getErrors().stream()
+                        .map(error -> "Schedule " + report.getIndex() + ": " + error))
+                .toList();
+        if (!errors.isEmpty()) {
+            throw new InvalidRequestException(String.join("; ", errors));
+        }
+        List<ScheduleConflictReportDto> conflicting = reports.stream()
+                .filter(ScheduleConflictReportDto::isConflicting)
+                .toList();
+        if (!conflicting.isEmpty()) {
+            StringBuilder errorMessage = new StringBuilder("Schedule conflicts detected for ")
+                    .append(conflicting.size()).append(" schedule(s) in the batch:");
+            for (ScheduleConflictReportDto report : conflicting) {
+                errorMessage.append("\n- Room ").append(report.getRoomId())
+                        .append(" on ").append(report.getDate().format(dateFormatter))
+                        .append(" from ").append(report.getStartTime().format(timeFormatter))
+                        .append(" to ").append(report.getEndTime().format(timeFormatter));
+            }
+            throw new ScheduleConflictException(errorMessage.toString());
+        }
+
+        // Everything was validated above, so one lookup per entity type is enough
+        Map<Long, Room> rooms = roomRepository.findAllById(distinctIds(scheduleDtos, ScheduleDto::getRoomId))
+                .stream().collect(Collectors.toMap(Room::getId, Function.identity()));
+        Map<Long, Course> courses = courseRepository.findAllById(distinctIds(scheduleDtos, ScheduleDto::getCourseId))
+                .stream().collect(Collectors.toMap(Course::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(distinctIds(scheduleDtos, ScheduleDto::getUserId))
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Schedule> schedules = scheduleDtos.stream().map(scheduleDto -> {
+            Schedule schedule = new Schedule();
+            populateScheduleFromDto(schedule, rooms.get(scheduleDto.getRoomId()),
+                    courses.get(scheduleDto.getCourseId()), users.get(scheduleDto.getUserId()), scheduleDto);
+            schedule.setStatus(Schedule.Status.PENDING);
+            return schedule;
+        }).toList();
+
+        List<Schedule> savedSchedules = scheduleRepository.saveAll(schedules);
+        // The dry run above only saw committed bookings; this catches those racing with the batch
+        reserveSlots(savedSchedules, () -> {
+            throw new ScheduleConflictException(
+                    "Schedules in the batch conflict with a booking made meanwhile, please check them again");
+        });
+        conflictIndex.recordAllAfterCommit(savedSchedules);
+        eventPublisher.publishEvent(SchedulesChangedEvent.of(ScheduleChange.Type.CREATED, savedSchedules));
+        logger.info("Created batch of {} schedules", savedSchedules.size());
+        return convertAllToDto(savedSchedules);
+    }
+
+    // Sweep one room's candidates together with the existing schedules on the same dates
+    private void sweepRoomCandidates(Long roomId, List<Integer> candidateIndexes, List<ScheduleDto> candidates,
+                                     List<ScheduleConflictReportDto> reports) {
+        List<IntervalSweep.Span<DryRunItem>> spans = new ArrayList<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (Integer index : candidateIndexes) {
+            ScheduleDto candidate = candidates.get(index);
+            dates.add(candidate.getDate());
+            // Spans are measured in slots, matching what schedule_slots rejects when the batch is created
+            spans.add(new IntervalSweep.Span<>(candidate.getDate(), ScheduleSlots.firstSlot(candidate.getStartTime()),
+                    ScheduleSlots.endSlot(candidate.getEndTime()), new DryRunItem(index, candidate.getId())));
+        }
+        for (ScheduleConflictIndex.Interval existing : findExistingIntervals(roomId, dates)) {
+            spans.add(new IntervalSweep.Span<>(existing.date(), RoomOccupancyIndex.floorSlot(existing.start()),
+                    RoomOccupancyIndex.ceilSlot(existing.end()), new DryRunItem(null, existing.scheduleId())));
+        }
+
+        IntervalSweep.sweep(spans, (earlier, later) -> {
+            DryRunItem first = earlier.item();
+            DryRunItem second = later.item();
+            // A candidate that updates an existing schedule never conflicts with that schedule itself
+            if (Objects.equals(first.scheduleId(), second.scheduleId()) && first.scheduleId() != null) {
+                return;
+            }
+            if (first.isCandidate() && second.isCandidate()) {
+                markConflict(reports.get(first.candidateIndex()))
+                        .getConflictingCandidates().add(second.candidateIndex());
+                markConflict(reports.get(second.candidateIndex()))
+                        .getConflictingCandidates().add(first.candidateIndex());
+            } else if (first.isCandidate() != second.isCandidate()) {
+                DryRunItem candidate = first.isCandidate() ? first : second;
+                DryRunItem existing = first.isCandidate() ? second : first;
+                markConflict(reports.get(candidate.candidateIndex()))
+                        .getConflictingScheduleIds().add(existing.scheduleId());
+            }
+        });
+
+        // Keep report lists in a stable order regardless of sweep order
+        for (Integer index : candidateIndexes) {
+            Collections.sort(reports.get(index).getConflictingScheduleIds());
+            Collections.sort(reports.get(index).getConflictingCandidates());
+        }
+    }
+
+    // Existing intervals of the room on the given dates, from the conflict index when it is available
+    private List<ScheduleConflictIndex.Interval> findExistingIntervals(Long roomId, Set<LocalDate> dates) {
+        if (conflictIndex.isLoaded()) {
+            return dates.stream()
+                    .flatMap(date -> conflictIndex.intervalsOn(roomId, date).stream())
+                    .toList();
+        }
+        LocalDate from = dates.stream().min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = dates.stream().max(LocalDate::compareTo).orElseThrow();
+        return scheduleRepository.findIntervalsForRoom(roomId, from, to).stream()
+                .filter(view -> dates.contains(view.getDate()))
+                .map(ScheduleConflictIndex.Interval::of)
+                .toList();
+    }
+
+    private ScheduleConflictReportDto markConflict(ScheduleConflictReportDto report) {
+        report.setConflicting(true);
+        return report;
+    }
+
+    private static List<Long> distinctIds(List<ScheduleDto> candidates, Function<ScheduleDto, Long> idGetter) {
+        return candidates.stream().map(idGetter).filter(Objects::nonNull).distinct().toList();
     }
 
     // Helper method to find and validate entities
@@ -415,21 +740,40 @@ public class ScheduleService {
         return new EntityResults(room, course, user);
     }
 
+    // Pre-check against the conflict index, so that a booking of taken slots is turned down before anything is
+    // written. The index may lag behind other instances in either direction: a conflict it reports is confirmed
+    // against the database first, and one it misses is still caught by the slot reservation.
+    private void rejectIndexedConflicts(Room room, ScheduleDto scheduleDto, Long excludeScheduleId) {
+        if (!conflictIndex.findConflicts(room.getId(), scheduleDto.getDate(), scheduleDto.getStartTime(),
+                scheduleDto.getEndTime(), excludeScheduleId).isEmpty()) {
+            checkForScheduleConflicts(room, scheduleDto.getDate(), scheduleDto.getStartTime(),
+                    scheduleDto.getEndTime(), excludeScheduleId);
+        }
+    }
+
+    // Insert the slots of the schedules and flush, so that a booking holding any of them fails here on the
+    // schedule_slots primary key, whichever instance made it. The failed flush leaves this persistence
+    // context unusable, so the conflicts are described from a fresh transaction by conflictLookup,
+    // which throws a ScheduleConflictException when it finds them.
+    private void reserveSlots(List<Schedule> schedules, Runnable conflictLookup) {
+        try {
+            scheduleSlotRepository.saveAllAndFlush(ScheduleSlots.of(schedules));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Slot reservation rejected, looking up the conflicting schedules", e);
+            lookupTransaction.executeWithoutResult(status -> conflictLookup.run());
+            // The holder of the slots is not committed yet, or was removed again since
+            throw new ScheduleConflictException(
+                    "The requested time conflicts with a booking made meanwhile, please try again");
+        }
+    }
+
     // Helper method to check for schedule conflicts
     private void checkForScheduleConflicts(Room room, LocalDate date, LocalTime startTime, LocalTime endTime, Long excludeScheduleId) {
         logger.debug("Checking for schedule conflicts: room={}, date={}, time={}-{}, excludeId={}",
                 room.getRoomNumber(), date, startTime, endTime, excludeScheduleId);
 
-        List<Schedule> conflictingSchedules = scheduleRepository.findByRoomAndDate(room, date);
-        List<Schedule> actualConflicts = new ArrayList<>();
-
-        for (Schedule existingSchedule : conflictingSchedules) {
-            // Skip comparing with itself if updating
-            if ((!existingSchedule.getId().equals(excludeScheduleId)) &&
-                    hasTimeConflict(existingSchedule, startTime, endTime)) {
-                actualConflicts.add(existingSchedule);
-            }
-        }
+        // Bookings made by other instances may not be in the local index yet, so ask the database
+        List<Schedule> actualConflicts = findConflictsInDatabase(room, date, startTime, endTime, excludeScheduleId);
 
         if (!actualConflicts.isEmpty()) {
             // Sort conflicts by start time for readability
@@ -446,27 +790,48 @@ public class ScheduleService {
         }
     }
 
-    // Check for conflicts in parallel
-    private void checkForConflictsInParallel(Room room, List<LocalDate> dates,
-                                             LocalTime startTime, LocalTime endTime) {
+    // Find the schedules holding slots the given time range needs
+    private List<Schedule> findConflictsInDatabase(Room room, LocalDate date, LocalTime startTime,
+                                                   LocalTime endTime, Long excludeScheduleId) {
+        List<Schedule> actualConflicts = new ArrayList<>();
+        for (Schedule existingSchedule : scheduleRepository.findByRoomAndDate(room, date)) {
+            // Skip comparing with itself if updating
+            if ((!existingSchedule.getId().equals(excludeScheduleId)) &&
+                    ScheduleSlots.overlap(existingSchedule.getStartTime(), existingSchedule.getEndTime(),
+                            startTime, endTime)) {
+                actualConflicts.add(existingSchedule);
+            }
+        }
+        return actualConflicts;
+    }
 
-        // Map to store conflicts by date (key = date, value = list of conflicts)
-        Map<LocalDate, List<Schedule>> conflictsByDate = new HashMap<>();
+    // Find the conflicts of all dates of a recurring schedule with one range query and a sweep over the results
+    private void checkForRecurringConflicts(Room room, List<LocalDate> dates,
+                                            LocalTime startTime, LocalTime endTime) {
+        if (dates.isEmpty()) {
+            return;
+        }
 
-        dates.forEach(date -> {
-            List<Schedule> existingSchedules = scheduleRepository.findByRoomAndDate(room, date);
-            List<Schedule> dateConflicts = new ArrayList<>();
+        // Dates are generated in ascending order, so the first and last bound the whole pattern
+        List<Schedule> existingSchedules = scheduleRepository.findByRoomAndDateBetween(
+                room, dates.get(0), dates.get(dates.size() - 1));
 
-            for (Schedule existing : existingSchedules) {
-                if (hasTimeConflict(existing, startTime, endTime)) {
-                    dateConflicts.add(existing);
-                }
-            }
+        // Candidates carry no schedule; existing spans carry the schedule they belong to
+        List<IntervalSweep.Span<Schedule>> spans = new ArrayList<>(dates.size() + existingSchedules.size());
+        // Spans are measured in slots, matching what schedule_slots rejects
+        dates.forEach(date -> spans.add(new IntervalSweep.Span<>(date,
+                ScheduleSlots.firstSlot(startTime), ScheduleSlots.endSlot(endTime), null)));
+        existingSchedules.forEach(existing -> spans.add(new IntervalSweep.Span<>(existing.getDate(),
+                ScheduleSlots.firstSlot(existing.getStartTime()), ScheduleSlots.endSlot(existing.getEndTime()),
+                existing)));
 
-            if (!dateConflicts.isEmpty()) {
-                // Sort conflicts by start time
-                dateConflicts.sort(Comparator.comparing(Schedule::getStartTime));
-                conflictsByDate.put(date, dateConflicts);
+        // Map to store conflicts by date (key = date, value = list of conflicts)
+        Map<LocalDate, List<Schedule>> conflictsByDate = new TreeMap<>();
+        IntervalSweep.sweep(spans, (earlier, later) -> {
+            // Only candidate-vs-existing overlaps matter here
+            if ((earlier.item() == null) != (later.item() == null)) {
+                Schedule existing = earlier.item() != null ? earlier.item() : later.item();
+                conflictsByDate.computeIfAbsent(existing.getDate(), date -> new ArrayList<>()).add(existing);
             }
         });
 
@@ -475,13 +840,9 @@ public class ScheduleService {
                     .append(room.getRoomNumber())
                     .append(" has scheduling conflicts:");
 
-            // Sort dates for readability
-            List<LocalDate> sortedDates = new ArrayList<>(conflictsByDate.keySet());
-            Collections.sort(sortedDates);
-
-            for (LocalDate date : sortedDates) {
-                List<Schedule> conflicts = conflictsByDate.get(date);
-
+            // Dates are already sorted; sort conflicts by start time for readability
+            for (List<Schedule> conflicts : conflictsByDate.values()) {
+                conflicts.sort(Comparator.comparing(Schedule::getStartTime));
                 scheduleConflicts(conflicts, errorMessage);
             }
 
@@ -527,12 +888,30 @@ public class ScheduleService {
     }
 
     // Convert Schedule entity to ScheduleDto
-    // Thread-safe method for DTO conversion with caching user info
     private ScheduleDto convertToDto(Schedule schedule) {
-        // Get user information with local caching to reduce database hits
-        String createdByName = self.getObject().getUserName(schedule.getCreatedByEmail());
-        String updatedByName = self.getObject().getUserName(schedule.getUpdatedByEmail());
+        return convertToDto(schedule, self.getObject().getUserName(schedule.getCreatedByEmail()),
+                self.getObject().getUserName(schedule.getUpdatedByEmail()));
+    }
 
+    // Convert a result set with one user-name lookup for all of it, instead of two per schedule
+    private List<ScheduleDto> convertAllToDto(Collection<Schedule> schedules) {
+        Set<String> emails = new HashSet<>();
+        for (Schedule schedule : schedules) {
+            emails.add(schedule.getCreatedByEmail());
+            emails.add(schedule.getUpdatedByEmail());
+        }
+        emails.remove(null);
+        Map<String, String> userNames = getUserNames(emails);
+
+        List<ScheduleDto> scheduleDtos = new ArrayList<>(schedules.size());
+        for (Schedule schedule : schedules) {
+            scheduleDtos.add(convertToDto(schedule, userNames.get(schedule.getCreatedByEmail()),
+                    userNames.get(schedule.getUpdatedByEmail())));
+        }
+        return scheduleDtos;
+    }
+
+    private ScheduleDto convertToDto(Schedule schedule, String createdByName, String updatedByName) {
         return new ScheduleDto(
                 schedule.getId(),
                 schedule.getRoom().getId(),
@@ -555,13 +934,41 @@ public class ScheduleService {
         );
     }
 
-    // Get username by email with caching
+    // Bulk form of getUserName: names already in the userDetails cache are read from it, and the
+    // rest are loaded with one query and cached the same way getUserName would cache them
+    @SuppressWarnings("unchecked")
+    private Map<String, String> getUserNames(Set<String> emails) {
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> userDetails =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) Objects.requireNonNull(
+                        cacheManager.getCache("userDetails"), "No cache named userDetails").getNativeCache();
+        Map<Object, Object> cached = userDetails.getAll(emails, missing -> {
+            Map<Object, Object> loaded = new HashMap<>();
+            List<String> missingEmails = missing.stream().map(String.class::cast).toList();
+            // Unknown users and users without a name are shown by their email
+            missingEmails.forEach(email -> loaded.put(email, email));
+            for (User user : userRepository.findByEmailIn(missingEmails)) {
+                if (user.getName() != null) {
+                    loaded.put(user.getEmail(), user.getName());
+                }
+            }
+            return loaded;
+        });
+
+        Map<String, String> userNames = new HashMap<>(cached.size());
+        cached.forEach((email, name) -> userNames.put((String) email, name instanceof String value ? value : null));
+        return userNames;
+    }
+
+    // Get username by email with caching; unknown users and users without a name are shown by their email,
+    // as in getUserNames and the userDetails cache loader
     @Cacheable(value = "userDetails", key = "#email")
     public String getUserName(String email) {
         if (email == null) return null;
 
-        User user = userRepository.findByEmail(email).orElse(null);
-        return user != null ? user.getName() : email;
+        return userRepository.findByEmail(email).map(User::getName).orElse(email);
     }
 
     // Utility class to hold entity lookup results
@@ -569,4 +976,12 @@ public class ScheduleService {
 
     }
 
+    // Item swept during a dry run: either a candidate (by index) or an existing schedule (by id)
+    private record DryRunItem(Integer candidateIndex, Long scheduleId) {
+
+        boolean isCandidate() {
+            return candidateIndex != null;
+        }
+    }
+
 }
\ No newline at end of file
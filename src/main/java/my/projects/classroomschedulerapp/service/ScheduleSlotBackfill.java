@@ -0,0 +1,70 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+import my.projects.classroomschedulerapp.repository.ScheduleRepository;
+import my.projects.classroomschedulerapp.repository.ScheduleSlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Reserves slots for schedules that were saved without them: rows from before schedule_slots existed
+// and the sample data. Earlier schedules win; a schedule overlapping one of them stays unreserved.
+@Component
+public class ScheduleSlotBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleSlotBackfill.class);
+    private static final int CHUNK_SIZE = 500;
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleSlotRepository scheduleSlotRepository;
+    private final TransactionTemplate transaction;
+
+    public ScheduleSlotBackfill(ScheduleRepository scheduleRepository, ScheduleSlotRepository scheduleSlotRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.scheduleRepository = scheduleRepository;
+        this.scheduleSlotRepository = scheduleSlotRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Long> ids = scheduleRepository.findIdsWithoutSlots();
+        if (ids.isEmpty()) {
+            return;
+        }
+        logger.info("Reserving slots for {} schedules saved without them", ids.size());
+
+        int unreserved = 0;
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            if (!reserve(chunk)) {
+                // Retry one by one so that only the overlapping schedules are left out
+                for (Long id : chunk) {
+                    if (!reserve(List.of(id))) {
+                        logger.warn("Schedule {} overlaps an earlier schedule, its slots stay unreserved", id);
+                        unreserved++;
+                    }
+                }
+            }
+        }
+        logger.info("Reserved slots for {} schedules", ids.size() - unreserved);
+    }
+
+    private boolean reserve(List<Long> scheduleIds) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                List<Schedule> schedules = scheduleRepository.findAllById(scheduleIds);
+                scheduleSlotRepository.saveAllAndFlush(ScheduleSlots.of(schedules));
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+import my.projects.classroomschedulerapp.model.ScheduleSlot;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+// Maps schedules onto the 5-minute slots they reserve in schedule_slots. Partially covered slots are
+// reserved too, so two bookings sharing part of a slot count as overlapping.
+final class ScheduleSlots {
+
+    // Same order for every writer, so concurrent multi-row inserts take row locks in the same order
+    private static final Comparator<ScheduleSlot> BY_KEY = Comparator.comparing(ScheduleSlot::getRoomId)
+            .thenComparing(ScheduleSlot::getDate)
+            .thenComparingInt(ScheduleSlot::getSlotIndex);
+
+    private ScheduleSlots() {
+    }
+
+    static List<ScheduleSlot> of(Collection<Schedule> schedules) {
+        List<ScheduleSlot> slots = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            int endSlot = endSlot(schedule.getEndTime());
+            for (int slot = firstSlot(schedule.getStartTime()); slot < endSlot; slot++) {
+                slots.add(new ScheduleSlot(schedule.getRoom().getId(), schedule.getDate(), slot, schedule));
+            }
+        }
+        slots.sort(BY_KEY);
+        return slots;
+    }
+
+    // Whether two time ranges on the same room-day reserve a common slot
+    static boolean overlap(LocalTime startTime, LocalTime endTime, LocalTime otherStartTime, LocalTime otherEndTime) {
+        return firstSlot(startTime) < endSlot(otherEndTime) && firstSlot(otherStartTime) < endSlot(endTime);
+    }
+
+    static int firstSlot(LocalTime startTime) {
+        return RoomOccupancyIndex.floorSlot(startTime.toSecondOfDay());
+    }
+
+    // Exclusive end of the slots covered by a range ending at the given time
+    static int endSlot(LocalTime endTime) {
+        return RoomOccupancyIndex.ceilSlot(endTime.toSecondOfDay());
+    }
+}
@@ -0,0 +1,25 @@
+package my.projects.classroomschedulerapp.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Helpers for deferring in-memory side effects until the database change is durable
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    // Run the action after the current transaction commits, or immediately when there is none
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package my.projects.classroomschedulerapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncConfigTests {
+
+    @Test
+    void defaultLimitsSplitTheConnectionPoolBetweenTheBulkheads() {
+        AsyncConfig config = config(new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "20"));
+
+        assertThat(maxPoolSize(config, "read")).isEqualTo(10);
+        assertThat(maxPoolSize(config, "write")).isEqualTo(6);
+        assertThat(maxPoolSize(config, "batch")).isEqualTo(4);
+    }
+
+    @Test
+    void bulkheadsThatOutgrowTheConnectionPoolFailAtStartup() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.async.bulkhead.read.max-concurrency", "8");
+
+        assertThatThrownBy(() -> config(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("13 calls at once, more than the 10 connections");
+    }
+
+    @Test
+    void virtualModeNeedsJava21() {
+        AsyncConfig config = config(new MockEnvironment().withProperty("app.async.mode", "virtual"));
+
+        if (Runtime.version().feature() < 21) {
+            assertThatThrownBy(() -> config.bulkhead("read"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("needs Java 21");
+        } else {
+            assertThat(config.bulkhead("read")).isInstanceOf(SimpleAsyncTaskExecutor.class);
+        }
+    }
+
+    @Test
+    void unknownModesAreRejected() {
+        AsyncConfig config = config(new MockEnvironment().withProperty("app.async.mode", "fibers"));
+
+        assertThatThrownBy(() -> config.bulkhead("read")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static AsyncConfig config(MockEnvironment environment) {
+        return new AsyncConfig(environment, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    }
+
+    private static int maxPoolSize(AsyncConfig config, String name) {
+        return ((ThreadPoolTaskExecutor) config.bulkhead(name)).getMaxPoolSize();
+    }
+}
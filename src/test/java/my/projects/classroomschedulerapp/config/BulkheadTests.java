@@ -0,0 +1,44 @@
+package my.projects.classroomschedulerapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTests {
+
+    @Test
+    void callsBeyondTheRunningAndWaitingLimitsAreRejected() throws Exception {
+        Bulkhead bulkhead = Bulkhead.platform("test", 1, 1);
+        ThreadPoolTaskExecutor pool = (ThreadPoolTaskExecutor) bulkhead.executor();
+        pool.initialize();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> running = pool.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<?> waiting = pool.submit(() -> null);
+
+            assertThat(bulkhead.active()).isEqualTo(1);
+            assertThat(bulkhead.queued()).isEqualTo(1);
+            assertThatThrownBy(() -> pool.submit(() -> null)).isInstanceOf(TaskRejectedException.class);
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+            waiting.get(5, TimeUnit.SECONDS);
+            assertThat(pool.submit(() -> null).get(5, TimeUnit.SECONDS)).isNull();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
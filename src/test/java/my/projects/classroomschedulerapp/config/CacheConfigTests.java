@@ -0,0 +1,96 @@
+package my.projects.classroomschedulerapp.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTests {
+
+    @Test
+    void everyCacheIsBoundedAndListCachesAreWeighedByTheirSize() {
+        CacheManager cacheManager = cacheManager(new MockEnvironment());
+
+        assertThat(cacheManager.getCacheNames()).containsExactlyInAnyOrder("schedulesByDate", "scheduleDetails",
+                "userDetails", "roomDetails", "programDetails", "programsByDepartment", "departmentDetails",
+                "courseDetails", "coursesByProgram");
+        for (String name : cacheManager.getCacheNames()) {
+            assertThat(policy(cacheManager.getCache(name)).eviction()).as(name).isPresent();
+            assertThat(policy(cacheManager.getCache(name)).expireAfterWrite()).as(name).isPresent();
+            assertThat(policy(cacheManager.getCache(name)).isRecordingStats()).as(name).isTrue();
+        }
+
+        Cache schedulesByDate = cacheManager.getCache("schedulesByDate");
+        Policy.Eviction<Object, Object> eviction = policy(schedulesByDate).eviction().orElseThrow();
+        assertThat(eviction.isWeighted()).isTrue();
+        assertThat(eviction.getMaximum()).isEqualTo(50000);
+        schedulesByDate.put("2034-03-06", List.of("a", "b", "c"));
+        schedulesByDate.put("2034-03-07", "not a list");
+        // Weights are applied by the cache's maintenance, which may otherwise still be pending
+        nativeCache(schedulesByDate).cleanUp();
+        assertThat(eviction.weightedSize()).hasValue(5);
+
+        Policy.Eviction<Object, Object> details = policy(cacheManager.getCache("scheduleDetails")).eviction()
+                .orElseThrow();
+        assertThat(details.isWeighted()).isFalse();
+        assertThat(details.getMaximum()).isEqualTo(10000);
+        assertThat(policy(cacheManager.getCache("scheduleDetails")).expireAfterWrite().orElseThrow()
+                .getExpiresAfter()).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void onlyUserDetailsRefreshesAheadOfExpiry() {
+        CacheManager cacheManager = cacheManager(new MockEnvironment());
+
+        assertThat(cacheManager.getCache("userDetails")).isInstanceOf(CaffeineCache.class);
+        assertThat(policy(cacheManager.getCache("userDetails")).refreshAfterWrite().orElseThrow()
+                .getRefreshesAfter()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(cacheManager.getCache("roomDetails")).isInstanceOf(CoalescingCache.class);
+        assertThat(policy(cacheManager.getCache("roomDetails")).refreshAfterWrite()).isEmpty();
+    }
+
+    @Test
+    void specPropertiesOverrideTheDefaults() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.cache.spec.roomDetails", "maximumSize=2000,expireAfterWrite=1h,recordStats")
+                .withProperty("app.cache.spec.coursesByProgram", "maximumWeight=100,recordStats");
+        CacheManager cacheManager = cacheManager(environment);
+
+        assertThat(policy(cacheManager.getCache("roomDetails")).eviction().orElseThrow().getMaximum())
+                .isEqualTo(2000);
+        assertThat(policy(cacheManager.getCache("roomDetails")).expireAfterWrite().orElseThrow()
+                .getExpiresAfter()).isEqualTo(Duration.ofHours(1));
+        Policy.Eviction<Object, Object> coursesByProgram = policy(cacheManager.getCache("coursesByProgram"))
+                .eviction().orElseThrow();
+        assertThat(coursesByProgram.isWeighted()).isTrue();
+        assertThat(coursesByProgram.getMaximum()).isEqualTo(100);
+        assertThat(policy(cacheManager.getCache("coursesByProgram")).expireAfterWrite()).isEmpty();
+        // Caches without an override keep their defaults
+        assertThat(policy(cacheManager.getCache("courseDetails")).eviction().orElseThrow().getMaximum())
+                .isEqualTo(5000);
+    }
+
+    // Initialized like the container does, so that getCache finds the configured caches
+    private static CacheManager cacheManager(MockEnvironment environment) {
+        SimpleCacheManager cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(environment, null);
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+
+    private static Policy<Object, Object> policy(Cache cache) {
+        return nativeCache(cache).policy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(Cache cache) {
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+    }
+}
@@ -0,0 +1,153 @@
+package my.projects.classroomschedulerapp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import my.projects.classroomschedulerapp.exception.CacheLoadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingCacheTests {
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CoalescingCache cache = cache(Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> cache.get("today", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return "schedules";
+            })));
+        }
+        // Give every caller time to miss before the load completes
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("schedules");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("today", String.class)).isEqualTo("schedules");
+    }
+
+    @Test
+    void waitersGiveUpAfterTheTimeout() throws Exception {
+        CoalescingCache cache = cache(Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = callers.submit(() -> cache.get("today", () -> {
+            started.countDown();
+            release.await();
+            return "schedules";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> cache.get("today", () -> "second load"))
+                .isInstanceOf(CacheLoadTimeoutException.class);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("schedules");
+    }
+
+    @Test
+    void failedLoadsReachEveryWaiterAndAreNotCached() throws Exception {
+        CoalescingCache cache = cache(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+        Future<String> leader = callers.submit(() -> cache.get("today", () -> {
+            started.countDown();
+            release.await();
+            throw failure;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> waiter = callers.submit(() -> cache.get("today", () -> "second load"));
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<String> result : List.of(leader, waiter)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(Cache.ValueRetrievalException.class)
+                    .hasRootCause(failure);
+        }
+        assertThat(cache.get("today")).isNull();
+    }
+
+    @Test
+    void evictionDuringALoadKeepsItsValueOutOfTheCache() throws Exception {
+        CoalescingCache cache = cache(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = callers.submit(() -> cache.get("today", () -> {
+            started.countDown();
+            release.await();
+            return "before the change";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cache.evict("today");
+        release.countDown();
+
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before the change");
+        assertThat(cache.get("today")).isNull();
+        assertThat(cache.get("today", () -> "after the change")).isEqualTo("after the change");
+    }
+
+    @Test
+    void evictionWhileTheLoadedValueIsStoredRemovesIt() throws Exception {
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CoalescingCache cache = new CoalescingCache(
+                new CaffeineCache("schedulesByDate", Caffeine.newBuilder().build()) {
+                    @Override
+                    public void put(Object key, Object value) {
+                        storing.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        super.put(key, value);
+                    }
+                }, Duration.ofSeconds(5));
+        Future<String> stale = callers.submit(() -> cache.get("today", () -> "before the change"));
+        assertThat(storing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The eviction waits for the store to finish, so it cannot be overtaken by it
+        Future<?> eviction = callers.submit(() -> cache.evict("today"));
+        Thread.sleep(100);
+        release.countDown();
+
+        eviction.get(5, TimeUnit.SECONDS);
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before the change");
+        assertThat(cache.get("today")).isNull();
+    }
+
+    private CoalescingCache cache(Duration timeout) {
+        return new CoalescingCache(new CaffeineCache("schedulesByDate", Caffeine.newBuilder().build()), timeout);
+    }
+}
@@ -0,0 +1,107 @@
+package my.projects.classroomschedulerapp.event;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+import my.projects.classroomschedulerapp.repository.CacheInvalidationRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JdbcCacheInvalidationTransportTests {
+
+    @Autowired
+    private CacheInvalidationRecordRepository recordRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void nodesReceiveEachOthersInvalidationsOnceButNotTheirOwn() {
+        JdbcCacheInvalidationTransport first = node();
+        JdbcCacheInvalidationTransport second = node();
+        List<CacheInvalidation> receivedByFirst = new CopyOnWriteArrayList<>();
+        List<CacheInvalidation> receivedBySecond = new CopyOnWriteArrayList<>();
+        first.subscribe(receivedByFirst::add);
+        second.subscribe(receivedBySecond::add);
+        LocalDate date = LocalDate.of(2033, 1, 10);
+        CacheInvalidation invalidation = new CacheInvalidation(Set.of(1L, 2L), Set.of(date), Set.of(7L),
+                Set.of(new RoomDay(7L, date), new RoomDay(8L, date.minusDays(1))), List.of(
+                        new ScheduleChange(null, ScheduleChange.Type.CREATED, 1L, date, null, 7L, null, 4L,
+                                Schedule.Status.PENDING),
+                        new ScheduleChange(null, ScheduleChange.Type.UPDATED, 2L, date, date.minusDays(1), 7L, 8L,
+                                5L, Schedule.Status.PENDING)));
+
+        first.broadcast(invalidation);
+        first.poll();
+        second.poll();
+        second.poll();
+
+        assertThat(receivedByFirst).isEmpty();
+        assertThat(receivedBySecond).containsExactly(invalidation);
+    }
+
+    @Test
+    void emptyInvalidationsSurviveTheRoundTrip() {
+        JdbcCacheInvalidationTransport first = node();
+        JdbcCacheInvalidationTransport second = node();
+        List<CacheInvalidation> received = new CopyOnWriteArrayList<>();
+        second.subscribe(received::add);
+
+        first.broadcast(new CacheInvalidation(Set.of(), Set.of(), Set.of(3L), Set.of(), List.of()));
+        second.poll();
+
+        assertThat(received).containsExactly(
+                new CacheInvalidation(Set.of(), Set.of(), Set.of(3L), Set.of(), List.of()));
+    }
+
+    @Test
+    void followersReadTheWholeLogInOrderAndCanReplayIt() {
+        JdbcCacheInvalidationTransport first = node();
+        JdbcCacheInvalidationTransport second = node();
+        List<LoggedInvalidation> followedByFirst = new CopyOnWriteArrayList<>();
+        List<LoggedInvalidation> followedBySecond = new CopyOnWriteArrayList<>();
+        long start = first.follow(followedByFirst::add);
+        second.follow(followedBySecond::add);
+        CacheInvalidation fromFirst = new CacheInvalidation(Set.of(), Set.of(), Set.of(5L), Set.of(), List.of());
+        CacheInvalidation fromSecond = new CacheInvalidation(Set.of(), Set.of(), Set.of(6L), Set.of(), List.of());
+
+        first.broadcast(fromFirst);
+        second.broadcast(fromSecond);
+        first.poll();
+        second.poll();
+
+        // Both nodes follow the same log, their own broadcasts included
+        assertThat(followedByFirst).extracting(LoggedInvalidation::invalidation).containsExactly(fromFirst, fromSecond);
+        assertThat(followedBySecond).isEqualTo(followedByFirst);
+        long firstId = followedByFirst.get(0).id();
+        long lastId = followedByFirst.get(1).id();
+        assertThat(firstId).isGreaterThan(start);
+        assertThat(lastId).isGreaterThan(firstId);
+
+        assertThat(first.replay(firstId - 1, lastId)).isEqualTo(followedByFirst);
+        assertThat(second.replay(firstId, lastId)).containsExactly(followedByFirst.get(1));
+        assertThat(second.replay(lastId, lastId)).isEmpty();
+
+        // Purging everything but the newest record loses what came after firstId - 1, but nothing after lastId
+        node(0).purge();
+        assertThat(first.replay(firstId - 1, lastId)).isNull();
+        assertThat(first.replay(lastId, lastId)).isEmpty();
+    }
+
+    private JdbcCacheInvalidationTransport node() {
+        return node(10);
+    }
+
+    private JdbcCacheInvalidationTransport node(long retentionMinutes) {
+        return new JdbcCacheInvalidationTransport(recordRepository, transactionManager, 10_000, retentionMinutes);
+    }
+}
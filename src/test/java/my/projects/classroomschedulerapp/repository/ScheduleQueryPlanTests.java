@@ -0,0 +1,76 @@
+package my.projects.classroomschedulerapp.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks that the hot schedule queries are answered from their index instead of a full table scan.
+// Runs against the H2 test database in MySQL mode, whose EXPLAIN names the index a query uses. H2 costs
+// indexes from table statistics, and on empty tables every index ties, so each test seeds a spread of rows
+// and analyzes them first.
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleQueryPlanTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedStatistics() {
+        jdbcTemplate.update("INSERT INTO schedules (id, room_id, user_id, course_id, date, start_time, end_time, " +
+                "status, creation_date, last_updated, version) " +
+                "SELECT -(r.id * 1000 + d.x), r.id, (SELECT MIN(id) FROM users), (SELECT MIN(id) FROM courses), " +
+                "DATEADD(DAY, d.x, DATE '2040-01-01'), DATEADD(MINUTE, d.x, TIME '08:00:00'), " +
+                "DATEADD(MINUTE, d.x, TIME '09:00:00'), " +
+                "'APPROVED', TIMESTAMP '2040-01-01 00:00:00', DATEADD(MINUTE, d.x, TIMESTAMP '2040-01-01 00:00:00'), 0 " +
+                "FROM rooms r CROSS JOIN SYSTEM_RANGE(1, 200) d");
+        jdbcTemplate.execute("ANALYZE TABLE schedules");
+    }
+
+    @AfterEach
+    void removeSeededRows() {
+        jdbcTemplate.update("DELETE FROM schedules WHERE id < 0");
+    }
+
+    @Test
+    void roomTimelineLookupsUseTheRoomDateIndex() {
+        assertThat(plan("SELECT * FROM schedules WHERE room_id = 1 AND date = DATE '2030-01-07'"))
+                .contains("IDX_SCHEDULES_ROOM_DATE");
+        assertThat(plan("SELECT id, start_time, end_time FROM schedules " +
+                "WHERE room_id = 1 AND date BETWEEN DATE '2030-01-01' AND DATE '2030-02-01'"))
+                .contains("IDX_SCHEDULES_ROOM_DATE");
+    }
+
+    @Test
+    void dateLookupsAndAvailabilityUseTheDateIndex() {
+        assertThat(plan("SELECT * FROM schedules WHERE date = DATE '2030-01-07'"))
+                .contains("IDX_SCHEDULES_DATE_START");
+        assertThat(plan("SELECT r.id FROM rooms r WHERE r.id NOT IN (SELECT b.room_id FROM schedules b " +
+                "WHERE b.date = DATE '2030-01-07' AND b.start_time <= TIME '10:00:00' " +
+                "AND b.end_time >= TIME '09:00:00')"))
+                .contains("IDX_SCHEDULES_DATE_START");
+    }
+
+    @Test
+    void userLookupsUseTheUserDateIndex() {
+        assertThat(plan("SELECT * FROM schedules WHERE user_id = 1 " +
+                "AND date BETWEEN DATE '2030-01-01' AND DATE '2030-02-01'"))
+                .contains("IDX_SCHEDULES_USER_DATE");
+    }
+
+    @Test
+    void changeTrackingUsesTheLastUpdatedIndex() {
+        assertThat(plan("SELECT id FROM schedules WHERE last_updated > TIMESTAMP '2030-01-01 00:00:00'"))
+                .contains("IDX_SCHEDULES_LAST_UPDATED");
+    }
+
+    private String plan(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toUpperCase();
+    }
+}
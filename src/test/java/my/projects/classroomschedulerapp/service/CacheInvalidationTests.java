@@ -0,0 +1,207 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.RoomDto;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.event.CacheInvalidation;
+import my.projects.classroomschedulerapp.event.InMemoryCacheInvalidationTransport;
+import my.projects.classroomschedulerapp.event.RoomDay;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.model.Schedule;
+import my.projects.classroomschedulerapp.repository.CourseRepository;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.ScheduleRepository;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheInvalidationTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ScheduleConflictIndex conflictIndex;
+    @Autowired
+    private RoomOccupancyIndex occupancyIndex;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private InMemoryCacheInvalidationTransport transport;
+
+    @Test
+    void scheduleWritesEvictTheCachedDatesAndIds() {
+        LocalDate firstDate = LocalDate.of(2032, 5, 3);
+        LocalDate secondDate = firstDate.plusDays(1);
+        assertThat(scheduleService.getSchedulesByDate(firstDate)).isEmpty();
+        assertThat(scheduleService.getSchedulesByDate(secondDate)).isEmpty();
+
+        ScheduleDto created = scheduleService.createSchedule(
+                fixtures.booking(roomRepository.findAll().get(0), firstDate, LocalTime.of(7, 0)));
+        assertThat(scheduleService.getSchedulesByDate(firstDate)).extracting(ScheduleDto::getId)
+                .containsExactly(created.getId());
+        assertThat(scheduleService.getScheduleById(created.getId()).getStatus()).isEqualTo(Schedule.Status.PENDING);
+
+        scheduleService.updateScheduleStatus(created.getId(), Schedule.Status.APPROVED);
+        assertThat(scheduleService.getScheduleById(created.getId()).getStatus()).isEqualTo(Schedule.Status.APPROVED);
+
+        // Moving the schedule has to evict both the date it left and the date it moved to
+        ScheduleDto moved = fixtures.booking(roomRepository.findAll().get(0), secondDate, LocalTime.of(7, 0));
+        scheduleService.updateSchedule(created.getId(), moved);
+        assertThat(scheduleService.getSchedulesByDate(firstDate)).isEmpty();
+        assertThat(scheduleService.getSchedulesByDate(secondDate)).extracting(ScheduleDto::getId)
+                .containsExactly(created.getId());
+
+        scheduleService.deleteSchedule(created.getId());
+        assertThat(scheduleService.getSchedulesByDate(secondDate)).isEmpty();
+    }
+
+    @Test
+    void renamingARoomEvictsCachedSchedulesShowingIt() {
+        Room room = roomRepository.findAll().get(1);
+        LocalDate date = LocalDate.of(2032, 6, 7);
+        ScheduleDto created = scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(7, 0)));
+        assertThat(scheduleService.getSchedulesByDate(date)).extracting(ScheduleDto::getRoomNumber)
+                .containsExactly(room.getRoomNumber());
+        assertThat(scheduleService.getScheduleById(created.getId()).getRoomNumber()).isEqualTo(room.getRoomNumber());
+        RoomDto cachedRoom = roomService.getRoomById(room.getId());
+
+        cachedRoom.setRoomNumber(room.getRoomNumber() + "-R");
+        roomService.updateRoom(room.getId(), cachedRoom);
+
+        assertThat(roomService.getRoomById(room.getId()).getRoomNumber()).isEqualTo(room.getRoomNumber() + "-R");
+        assertThat(scheduleService.getSchedulesByDate(date)).extracting(ScheduleDto::getRoomNumber)
+                .containsExactly(room.getRoomNumber() + "-R");
+        assertThat(scheduleService.getScheduleById(created.getId()).getRoomNumber())
+                .isEqualTo(room.getRoomNumber() + "-R");
+    }
+
+    @Test
+    void writesAreBroadcastToOtherNodes() {
+        InMemoryCacheInvalidationTransport otherNode = transport.connect();
+        List<CacheInvalidation> received = new CopyOnWriteArrayList<>();
+        otherNode.subscribe(received::add);
+        Room room = roomRepository.findAll().get(2);
+        LocalDate date = LocalDate.of(2032, 7, 5);
+
+        ScheduleDto created = scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(7, 0)));
+
+        assertThat(received).singleElement().satisfies(invalidation -> {
+            assertThat(invalidation.scheduleIds()).containsExactly(created.getId());
+            assertThat(invalidation.dates()).containsExactly(date);
+            assertThat(invalidation.roomDays()).containsExactly(new RoomDay(room.getId(), date));
+        });
+    }
+
+    @Test
+    void invalidationsFromOtherNodesEvictLocalEntries() {
+        InMemoryCacheInvalidationTransport otherNode = transport.connect();
+        Room room = roomRepository.findAll().get(3);
+        LocalDate date = LocalDate.of(2032, 8, 2);
+        ScheduleDto created = scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(7, 0)));
+        scheduleService.getSchedulesByDate(date);
+        scheduleService.getScheduleById(created.getId());
+        roomService.getRoomById(room.getId());
+        Cache schedulesByDate = cacheManager.getCache("schedulesByDate");
+        Cache scheduleDetails = cacheManager.getCache("scheduleDetails");
+        Cache roomDetails = cacheManager.getCache("roomDetails");
+        assertThat(schedulesByDate.get(date.toString())).isNotNull();
+
+        otherNode.broadcast(new CacheInvalidation(Set.of(), Set.of(date), Set.of(), Set.of(), List.of()));
+        assertThat(schedulesByDate.get(date.toString())).isNull();
+        assertThat(scheduleDetails.get(created.getId())).isNotNull();
+
+        scheduleService.getSchedulesByDate(date);
+        otherNode.broadcast(new CacheInvalidation(Set.of(), Set.of(), Set.of(room.getId()), Set.of(), List.of()));
+        assertThat(roomDetails.get(room.getId())).isNull();
+        assertThat(scheduleDetails.get(created.getId())).isNull();
+        assertThat(schedulesByDate.get(date.toString())).isNull();
+    }
+
+    @Test
+    void roomDaysChangedOnOtherNodesAreReloadedIntoTheIndexes() {
+        InMemoryCacheInvalidationTransport otherNode = transport.connect();
+        Room room = roomRepository.findAll().get(3);
+        LocalDate date = LocalDate.of(2032, 9, 6);
+        LocalTime start = LocalTime.of(9, 0);
+        LocalTime end = LocalTime.of(10, 0);
+        RoomDay roomDay = new RoomDay(room.getId(), date);
+        RoomDay nextDay = new RoomDay(room.getId(), date.plusDays(1));
+
+        // Written by the other node, so this node only learns of it through the broadcast
+        Schedule schedule = new Schedule();
+        schedule.setRoom(room);
+        schedule.setUser(userRepository.findAll().get(0));
+        schedule.setCourse(courseRepository.findAll().get(0));
+        schedule.setDate(date);
+        schedule.setStartTime(start);
+        schedule.setEndTime(end);
+        schedule.setStatus(Schedule.Status.APPROVED);
+        schedule = scheduleRepository.saveAndFlush(schedule);
+        assertThat(conflictIndex.findConflicts(room.getId(), date, start, end, null)).isEmpty();
+
+        otherNode.broadcast(new CacheInvalidation(Set.of(schedule.getId()), Set.of(date), Set.of(), Set.of(roomDay),
+                List.of()));
+        assertThat(conflictIndex.findConflicts(room.getId(), date, start, end, null))
+                .containsExactly(schedule.getId());
+        assertThat(occupancyIndex.findAvailableRooms(date, start, end)).extracting(RoomDto::getId)
+                .doesNotContain(room.getId());
+
+        schedule.setDate(date.plusDays(1));
+        schedule = scheduleRepository.saveAndFlush(schedule);
+        otherNode.broadcast(new CacheInvalidation(Set.of(schedule.getId()), Set.of(date, date.plusDays(1)), Set.of(),
+                Set.of(roomDay, nextDay), List.of()));
+        assertThat(conflictIndex.intervalsOn(room.getId(), date)).isEmpty();
+        assertThat(conflictIndex.intervalsOn(room.getId(), date.plusDays(1)))
+                .extracting(ScheduleConflictIndex.Interval::scheduleId).containsExactly(schedule.getId());
+        assertThat(occupancyIndex.findAvailableRooms(date, start, end)).extracting(RoomDto::getId)
+                .contains(room.getId());
+
+        scheduleRepository.deleteById(schedule.getId());
+        otherNode.broadcast(new CacheInvalidation(Set.of(schedule.getId()), Set.of(date.plusDays(1)), Set.of(),
+                Set.of(nextDay), List.of()));
+        assertThat(conflictIndex.intervalsOn(room.getId(), date.plusDays(1))).isEmpty();
+        assertThat(occupancyIndex.findAvailableRooms(date.plusDays(1), start, end)).extracting(RoomDto::getId)
+                .contains(room.getId());
+    }
+
+    @Test
+    void roomsChangedOnOtherNodesAreReloadedIntoTheCatalog() {
+        InMemoryCacheInvalidationTransport otherNode = transport.connect();
+        Room existing = roomRepository.findAll().get(0);
+        Room room = roomRepository.saveAndFlush(
+                new Room(null, "REMOTE-1", existing.getBuilding(), 12, false, false, null));
+        assertThat(occupancyIndex.rooms()).extracting(RoomDto::getId).doesNotContain(room.getId());
+
+        otherNode.broadcast(new CacheInvalidation(Set.of(), Set.of(), Set.of(room.getId()), Set.of(), List.of()));
+        assertThat(occupancyIndex.rooms()).extracting(RoomDto::getId).contains(room.getId());
+
+        roomRepository.deleteById(room.getId());
+        otherNode.broadcast(new CacheInvalidation(Set.of(), Set.of(), Set.of(room.getId()), Set.of(), List.of()));
+        assertThat(occupancyIndex.rooms()).extracting(RoomDto::getId).doesNotContain(room.getId());
+    }
+}
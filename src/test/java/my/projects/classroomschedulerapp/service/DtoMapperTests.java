@@ -0,0 +1,79 @@
+package my.projects.classroomschedulerapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DtoMapperTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DtoMapper dtoMapper;
+
+    @AfterEach
+    void shutDown() {
+        if (dtoMapper != null) {
+            dtoMapper.destroy();
+        }
+    }
+
+    @Test
+    void shortListsAreMappedOnTheCallingThread() {
+        dtoMapper = mapper(100, 0);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> mapped = dtoMapper.mapAll("short", List.of(1, 2, 3), value -> {
+            threads.add(Thread.currentThread().getName());
+            return value * 2;
+        });
+
+        assertThat(mapped).containsExactly(2, 4, 6);
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+        assertThat(meterRegistry.get("app.mapping.duration").tag("mapping", "short").tag("mode", "sequential")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void longListsAreMappedInOrderOnTheDedicatedPool() {
+        dtoMapper = mapper(10, 0);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> rows = IntStream.range(0, 5000).boxed().toList();
+
+        List<Integer> mapped = dtoMapper.mapAll("long", rows, value -> {
+            threads.add(Thread.currentThread().getName());
+            return value + 1;
+        });
+
+        assertThat(mapped).containsExactlyElementsOf(IntStream.range(1, 5001).boxed().toList());
+        assertThat(threads).allMatch(name -> name.startsWith("dto-mapping-"));
+        assertThat(meterRegistry.get("app.mapping.duration").tag("mapping", "long").tag("mode", "parallel")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void mappingsMeasuredAsCheapStaySequential() {
+        dtoMapper = mapper(10, 60_000_000);
+        List<Integer> rows = IntStream.range(0, 200).boxed().toList();
+
+        // Without an estimate a long list goes parallel; that run shows the mapping is far too cheap to split
+        assertThat(dtoMapper.shouldParallelize("cheap", rows.size())).isTrue();
+        dtoMapper.mapAll("cheap", rows, value -> value);
+
+        assertThat(dtoMapper.shouldParallelize("cheap", rows.size())).isFalse();
+        assertThat(dtoMapper.shouldParallelize("other", rows.size())).isTrue();
+    }
+
+    private DtoMapper mapper(int parallelThreshold, long parallelMinWorkMicros) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", meterRegistry);
+        return new DtoMapper(2, parallelThreshold, parallelMinWorkMicros, beans.getBeanProvider(MeterRegistry.class));
+    }
+}
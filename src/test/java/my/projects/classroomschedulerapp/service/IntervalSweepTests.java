@@ -0,0 +1,54 @@
+package my.projects.classroomschedulerapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalSweepTests {
+
+    private static final LocalDate MONDAY = LocalDate.of(2039, 5, 2);
+
+    @Test
+    void sweepReportsEachOverlappingPairOnce() {
+        List<IntervalSweep.Span<String>> spans = List.of(
+                new IntervalSweep.Span<>(MONDAY, 10, 20, "a"),
+                new IntervalSweep.Span<>(MONDAY, 15, 25, "b"),
+                new IntervalSweep.Span<>(MONDAY, 18, 19, "c"),
+                new IntervalSweep.Span<>(MONDAY, 30, 40, "d"));
+
+        assertThat(overlaps(spans)).containsExactlyInAnyOrder("a-b", "a-c", "b-c");
+    }
+
+    @Test
+    void sweepIgnoresTouchingSpansAndOtherDates() {
+        List<IntervalSweep.Span<String>> spans = List.of(
+                new IntervalSweep.Span<>(MONDAY, 10, 20, "a"),
+                new IntervalSweep.Span<>(MONDAY, 20, 30, "b"),
+                new IntervalSweep.Span<>(MONDAY.plusDays(1), 15, 25, "c"),
+                new IntervalSweep.Span<>(MONDAY.plusDays(1), 25, 35, "d"));
+
+        assertThat(overlaps(spans)).isEmpty();
+    }
+
+    @Test
+    void sweepFindsALongSpanOverlappingManyLaterOnes() {
+        List<IntervalSweep.Span<String>> spans = new ArrayList<>();
+        // Input order does not matter, the sweep sorts by date and start
+        spans.add(new IntervalSweep.Span<>(MONDAY, 50, 60, "late"));
+        spans.add(new IntervalSweep.Span<>(MONDAY, 12, 14, "short1"));
+        spans.add(new IntervalSweep.Span<>(MONDAY, 0, 100, "long"));
+        spans.add(new IntervalSweep.Span<>(MONDAY, 14, 16, "short2"));
+
+        assertThat(overlaps(spans)).containsExactlyInAnyOrder("long-short1", "long-short2", "long-late");
+    }
+
+    private static List<String> overlaps(List<IntervalSweep.Span<String>> spans) {
+        List<String> pairs = new ArrayList<>();
+        IntervalSweep.sweep(spans, (earlier, later) -> pairs.add(earlier.item() + "-" + later.item()));
+        return pairs;
+    }
+}
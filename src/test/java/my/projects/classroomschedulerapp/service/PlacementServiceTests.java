@@ -0,0 +1,58 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.CourseMeetingDto;
+import my.projects.classroomschedulerapp.dto.MeetingAssignmentDto;
+import my.projects.classroomschedulerapp.dto.PlacementRequestDto;
+import my.projects.classroomschedulerapp.dto.RecurrencePatternDto;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PlacementServiceTests {
+
+    private static final List<Integer> EVERY_DAY = List.of(0, 1, 2, 3, 4, 5, 6);
+
+    @Autowired
+    private PlacementService placementService;
+
+    @Test
+    void solveRejectsMeetingsThatCouldNotBeCommittedInOneBatch() {
+        // 28 daily meetings over a year come to more schedules than one batch takes
+        RecurrencePatternDto yearly = new RecurrencePatternDto(
+                LocalDate.of(2043, 1, 1), LocalDate.of(2043, 12, 31), EVERY_DAY);
+        CourseMeetingDto meeting = new CourseMeetingDto(1L, 1L, yearly, 60, 0, false, false, null);
+        PlacementRequestDto request = new PlacementRequestDto();
+        request.setMeetings(Collections.nCopies(28, meeting));
+
+        assertThatThrownBy(() -> placementService.solve(request))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("committed at once");
+    }
+
+    @Test
+    void commitRejectsIncompleteRecurrencePatterns() {
+        LocalDate date = LocalDate.of(2043, 3, 2);
+        for (RecurrencePatternDto pattern : List.of(
+                new RecurrencePatternDto(date, date, null),
+                new RecurrencePatternDto(null, date, EVERY_DAY),
+                new RecurrencePatternDto(date, null, EVERY_DAY))) {
+            MeetingAssignmentDto assignment = new MeetingAssignmentDto(3, 1L, 1L, 1L, "R1",
+                    LocalTime.of(9, 0), LocalTime.of(10, 0), pattern, 1);
+
+            assertThatThrownBy(() -> placementService.commit(List.of(assignment)))
+                    .isInstanceOf(InvalidRequestException.class)
+                    .hasMessage("Assignment for meeting 3: a complete recurrence pattern is required");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.CourseMeetingDto;
+import my.projects.classroomschedulerapp.dto.RoomDto;
+import my.projects.classroomschedulerapp.event.RoomDay;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlacementSolverTests {
+
+    private static final LocalDate MONDAY = LocalDate.of(2034, 3, 6);
+    // 9:00 to 12:00 in 5-minute slots
+    private static final int NINE = 108;
+    private static final int TEN = 120;
+    private static final int ELEVEN = 132;
+    private static final int NOON = 144;
+
+    private static final RoomDto SMALL = room(1L, 30);
+    private static final RoomDto LARGE = room(2L, 60);
+    private static final RoomDto OTHER = room(3L, 30);
+
+    private final Map<RoomDay, BitSet> existingRoomBusy = new HashMap<>();
+    private final Map<PlacementSolver.UserDay, BitSet> existingUserBusy = new HashMap<>();
+
+    @Test
+    void prefersTheTightestRoomThenTheEarliestStart() {
+        PlacementSolver.Solution solution = solver(NINE, NOON,
+                meeting(0, 10L, 25, 60, List.of(MONDAY), LARGE, SMALL)).solve(0, deadline());
+
+        assertThat(solution.placedCount()).isEqualTo(1);
+        assertThat(solution.placements()[0]).isEqualTo(new PlacementSolver.Placement(1, NINE));
+        assertThat(solution.cost()).isEqualTo((30 - 25) * 4);
+    }
+
+    @Test
+    void avoidsExistingRoomAndInstructorBookingsOnEveryDate() {
+        busy(existingRoomBusy, new RoomDay(SMALL.getId(), MONDAY.plusDays(7)), NINE, TEN);
+        busy(existingUserBusy, new PlacementSolver.UserDay(10L, MONDAY), TEN, ELEVEN);
+
+        PlacementSolver.Solution solution = solver(NINE, NOON,
+                meeting(0, 10L, 25, 60, List.of(MONDAY, MONDAY.plusDays(7)), SMALL)).solve(0, deadline());
+
+        assertThat(solution.placements()[0]).isEqualTo(new PlacementSolver.Placement(0, ELEVEN));
+    }
+
+    @Test
+    void meetingsOfOneInstructorDoNotOverlap() {
+        PlacementSolver.Solution solution = solver(NINE, NOON,
+                meeting(0, 10L, 25, 60, List.of(MONDAY), SMALL, OTHER),
+                meeting(1, 10L, 25, 60, List.of(MONDAY), SMALL, OTHER)).solve(0, deadline());
+
+        assertThat(solution.placedCount()).isEqualTo(2);
+        int firstStart = solution.placements()[0].startSlot();
+        int secondStart = solution.placements()[1].startSlot();
+        assertThat(Math.abs(firstStart - secondStart)).isGreaterThanOrEqualTo(12);
+    }
+
+    @Test
+    void repairMovesASingleBlockingMeetingToAnotherRoom() {
+        // The weekly meeting is placed first and takes the small room; the other one only fits there
+        busy(existingRoomBusy, new RoomDay(OTHER.getId(), MONDAY), NINE, TEN);
+        PlacementSolver solver = solver(NINE, TEN,
+                meeting(0, 10L, 25, 60, List.of(MONDAY, MONDAY.plusDays(7)), SMALL, LARGE),
+                meeting(1, 11L, 25, 60, List.of(MONDAY), SMALL, OTHER));
+
+        PlacementSolver.Solution solution = solver.solve(0, deadline());
+
+        assertThat(solution.placedCount()).isEqualTo(2);
+        assertThat(solution.placements()[0]).isEqualTo(new PlacementSolver.Placement(1, NINE));
+        assertThat(solution.placements()[1]).isEqualTo(new PlacementSolver.Placement(0, NINE));
+        // Past the deadline only the greedy pass runs
+        assertThat(solver.solve(0, System.nanoTime() - 1).placedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesMeetingsUnplacedWhenNothingFits() {
+        PlacementSolver.Solution solution = solver(NINE, TEN,
+                meeting(0, 10L, 25, 60, List.of(MONDAY), SMALL),
+                meeting(1, 11L, 25, 60, List.of(MONDAY), SMALL)).solve(0, deadline());
+
+        assertThat(solution.placedCount()).isEqualTo(1);
+        assertThat(solution.placements()).containsOnlyOnce((PlacementSolver.Placement) null);
+    }
+
+    @Test
+    void randomizedAttemptsStillProduceFeasiblePlacements() {
+        PlacementSolver solver = solver(NINE, NOON,
+                meeting(0, 10L, 25, 60, List.of(MONDAY), SMALL, OTHER, LARGE),
+                meeting(1, 10L, 25, 60, List.of(MONDAY), SMALL, OTHER, LARGE),
+                meeting(2, 11L, 25, 60, List.of(MONDAY), SMALL, OTHER, LARGE));
+
+        for (long seed = 1; seed <= 20; seed++) {
+            PlacementSolver.Solution solution = solver.solve(seed, deadline());
+            assertThat(solution.placedCount()).isEqualTo(3);
+            int firstStart = solution.placements()[0].startSlot();
+            int secondStart = solution.placements()[1].startSlot();
+            assertThat(Math.abs(firstStart - secondStart)).isGreaterThanOrEqualTo(12);
+        }
+    }
+
+    private PlacementSolver solver(int firstSlot, int lastSlot, PlacementSolver.Meeting... meetings) {
+        BiFunction<Long, LocalDate, BitSet> roomBusy =
+                (roomId, date) -> existingRoomBusy.get(new RoomDay(roomId, date));
+        return new PlacementSolver(List.of(meetings), roomBusy, existingUserBusy, firstSlot, lastSlot, 1);
+    }
+
+    private static PlacementSolver.Meeting meeting(int index, Long userId, int minCapacity, int durationMinutes,
+                                                   List<LocalDate> dates, RoomDto... rooms) {
+        CourseMeetingDto request = new CourseMeetingDto();
+        request.setCourseId(1L);
+        request.setUserId(userId);
+        request.setMinCapacity(minCapacity);
+        request.setDurationMinutes(durationMinutes);
+        BitSet dayMask = new BitSet();
+        dates.forEach(date -> dayMask.set((int) ChronoUnit.DAYS.between(MONDAY, date)));
+        return new PlacementSolver.Meeting(index, request, dates, dayMask,
+                durationMinutes / RoomOccupancyIndex.SLOT_MINUTES, List.of(rooms));
+    }
+
+    private static <K> void busy(Map<K, BitSet> busyByKey, K key, int fromSlot, int toSlot) {
+        busyByKey.computeIfAbsent(key, k -> new BitSet()).set(fromSlot, toSlot);
+    }
+
+    private static RoomDto room(Long id, int capacity) {
+        return new RoomDto(id, "R" + id, 1L, "Main", capacity, false, false);
+    }
+
+    private static long deadline() {
+        return System.nanoTime() + 1_000_000_000L;
+    }
+}
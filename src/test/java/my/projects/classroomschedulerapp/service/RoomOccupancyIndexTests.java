@@ -0,0 +1,149 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.AvailableSlotDto;
+import my.projects.classroomschedulerapp.dto.RoomDto;
+import my.projects.classroomschedulerapp.dto.SlotSearchRequestDto;
+import my.projects.classroomschedulerapp.event.InMemoryCacheInvalidationTransport;
+import my.projects.classroomschedulerapp.event.RoomDay;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
+import my.projects.classroomschedulerapp.model.Schedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoomOccupancyIndexTests {
+
+    private static final LocalDate DATE = LocalDate.of(2034, 3, 6);
+
+    private RoomOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomOccupancyIndex(null, new InMemoryCacheInvalidationTransport());
+        index.putRoom(room(1L, 30));
+        index.putRoom(room(2L, 60));
+    }
+
+    @Test
+    void slotRoundingCoversPartiallyUsedSlots() {
+        assertThat(RoomOccupancyIndex.floorSlot(time("09:00"))).isEqualTo(108);
+        assertThat(RoomOccupancyIndex.floorSlot(time("09:04"))).isEqualTo(108);
+        assertThat(RoomOccupancyIndex.ceilSlot(time("09:00"))).isEqualTo(108);
+        assertThat(RoomOccupancyIndex.ceilSlot(time("09:01"))).isEqualTo(109);
+        assertThat(RoomOccupancyIndex.ceilSlot(LocalTime.MAX.toSecondOfDay()))
+                .isEqualTo(RoomOccupancyIndex.SLOTS_PER_DAY);
+
+        BitSet window = RoomOccupancyIndex.windowMask(LocalTime.parse("09:02"), LocalTime.parse("09:53"));
+        assertThat(window.nextSetBit(0)).isEqualTo(108);
+        assertThat(window.cardinality()).isEqualTo(11);
+    }
+
+    @Test
+    void bookingsBlockEverySlotTheyTouch() {
+        index.update(new RoomDay(1L, DATE), List.of(interval(1L, "09:00", "09:52")));
+
+        BitSet busy = index.busySlots(1L, DATE);
+        assertThat(busy.nextSetBit(0)).isEqualTo(108);
+        assertThat(busy.cardinality()).isEqualTo(11);
+        assertThat(ids(index.findAvailableRooms(DATE, LocalTime.parse("09:53"), LocalTime.parse("10:00"))))
+                .containsExactly(2L);
+        assertThat(ids(index.findAvailableRooms(DATE, LocalTime.parse("09:55"), LocalTime.parse("10:30"))))
+                .containsExactly(1L, 2L);
+        assertThat(ids(index.findAvailableRooms(DATE.plusDays(1), LocalTime.parse("09:00"), LocalTime.parse("10:00"))))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void emptyingARoomDayFreesIt() {
+        RoomDay roomDay = new RoomDay(1L, DATE);
+        index.update(roomDay, List.of(interval(1L, "09:00", "10:00")));
+        index.update(roomDay, List.of());
+
+        assertThat(index.busySlots(1L, DATE)).isNull();
+        assertThat(ids(index.findAvailableRooms(DATE, LocalTime.parse("09:00"), LocalTime.parse("10:00"))))
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void earliestSlotsStartAfterTheRoundedEndOfBookings() {
+        index.update(new RoomDay(1L, DATE), List.of(interval(1L, "09:00", "09:52")));
+
+        assertThat(slots(index.findEarliestSlots(slotSearch(60, DATE, DATE, "09:00", "11:00", 10))))
+                .containsExactly("2@6 09:00-10:00", "1@6 09:55-10:55");
+        // The window rounds inwards and a duration off the slot grid still needs whole slots
+        assertThat(slots(index.findEarliestSlots(slotSearch(52, DATE, DATE, "09:51", "11:00", 10))))
+                .containsExactly("1@6 09:55-10:47", "2@6 09:55-10:47");
+        assertThat(index.findEarliestSlots(slotSearch(60, DATE, DATE, "09:01", "10:00", 10))).isEmpty();
+    }
+
+    @Test
+    void earliestSlotsSkipBusyRunsAndHonourRoomFilters() {
+        index.update(new RoomDay(2L, DATE), List.of(
+                interval(1L, "08:00", "09:00"),
+                interval(2L, "09:30", "10:00"),
+                interval(3L, "10:30", "12:00")));
+        SlotSearchRequestDto request = slotSearch(30, DATE, DATE, "08:00", "12:00", 10);
+        request.setMinCapacity(50);
+
+        assertThat(slots(index.findEarliestSlots(request))).containsExactly("2@6 09:00-09:30", "2@6 10:00-10:30");
+    }
+
+    @Test
+    void earliestSlotsWalkDatesInOrderUpToTheLimit() {
+        index.update(new RoomDay(1L, DATE), List.of(interval(1L, "08:00", "12:00")));
+        index.update(new RoomDay(2L, DATE), List.of(interval(2L, "08:00", "11:00")));
+
+        assertThat(slots(index.findEarliestSlots(slotSearch(60, DATE, DATE.plusDays(2), "08:00", "12:00", 3))))
+                .containsExactly("2@6 11:00-12:00", "1@7 08:00-09:00", "2@7 08:00-09:00");
+    }
+
+    @Test
+    void emptyOrInvertedWindowIsRejected() {
+        assertThatThrownBy(() -> index.findAvailableRooms(DATE, LocalTime.parse("10:00"), LocalTime.parse("10:00")))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> index.findAvailableRooms(DATE, LocalTime.parse("11:00"), LocalTime.parse("10:00")))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static RoomDto room(Long id, int capacity) {
+        return new RoomDto(id, "R" + id, 1L, "Main", capacity, false, false);
+    }
+
+    private static SlotSearchRequestDto slotSearch(int durationMinutes, LocalDate startDate, LocalDate endDate,
+                                                   String earliestStart, String latestEnd, int limit) {
+        SlotSearchRequestDto request = new SlotSearchRequestDto();
+        request.setDurationMinutes(durationMinutes);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setEarliestStart(LocalTime.parse(earliestStart));
+        request.setLatestEnd(LocalTime.parse(latestEnd));
+        request.setLimit(limit);
+        return request;
+    }
+
+    private static List<String> slots(List<AvailableSlotDto> slots) {
+        return slots.stream()
+                .map(slot -> slot.getRoomId() + "@" + slot.getDate().getDayOfMonth() + " " + slot.getStartTime()
+                        + "-" + slot.getEndTime())
+                .toList();
+    }
+
+    private static ScheduleConflictIndex.Interval interval(Long id, String start, String end) {
+        return new ScheduleConflictIndex.Interval(id, 1L, DATE, time(start), time(end), Schedule.Status.APPROVED);
+    }
+
+    private static int time(String time) {
+        return LocalTime.parse(time).toSecondOfDay();
+    }
+
+    private static List<Long> ids(List<RoomDto> rooms) {
+        return rooms.stream().map(RoomDto::getId).toList();
+    }
+}
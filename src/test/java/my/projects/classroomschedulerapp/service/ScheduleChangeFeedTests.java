@@ -0,0 +1,270 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.event.CacheInvalidation;
+import my.projects.classroomschedulerapp.event.InMemoryCacheInvalidationTransport;
+import my.projects.classroomschedulerapp.event.ScheduleChange;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.model.Schedule;
+import my.projects.classroomschedulerapp.repository.BuildingRepository;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleChangeFeedTests {
+
+    @Autowired
+    private ScheduleChangeFeed changeFeed;
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BuildingRepository buildingRepository;
+    @Autowired
+    private InMemoryCacheInvalidationTransport transport;
+
+    @Test
+    void subscribersReceiveTheCommittedChangesTheyFilterFor() throws Exception {
+        Room room = roomRepository.findAll().get(2);
+        LocalDate date = LocalDate.of(2039, 4, 4);
+        RecordingSubscriber onDate = new RecordingSubscriber();
+        RecordingSubscriber otherDate = new RecordingSubscriber();
+        Runnable unsubscribeOnDate = changeFeed.subscribe(changeFeed.filter(date, room.getId(), null, null), null,
+                onDate);
+        Runnable unsubscribeOtherDate = changeFeed.subscribe(changeFeed.filter(date.plusDays(1), null, null, null),
+                null, otherDate);
+        try {
+            assertThat(onDate.next().text()).isEqualTo("ready");
+            assertThat(otherDate.next().text()).isEqualTo("ready");
+
+            Long id = scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(9, 0))).getId();
+            scheduleService.updateScheduleStatus(id, Schedule.Status.APPROVED);
+            scheduleService.deleteSchedule(id);
+
+            assertThat(onDate.next().text()).isEqualTo("CREATED " + id);
+            assertThat(onDate.next().text()).isEqualTo("STATUS_CHANGED " + id + " APPROVED");
+            assertThat(onDate.next().text()).isEqualTo("DELETED " + id);
+            assertThat(otherDate.events.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        } finally {
+            unsubscribeOnDate.run();
+            unsubscribeOtherDate.run();
+        }
+    }
+
+    @Test
+    void reconnectingSubscribersResumeAfterTheirLastEvent() throws Exception {
+        Room room = roomRepository.findAll().get(2);
+        LocalDate date = LocalDate.of(2039, 5, 5);
+        RecordingSubscriber first = new RecordingSubscriber();
+        Runnable unsubscribe = changeFeed.subscribe(changeFeed.filter(date, null, null, null), null, first);
+        assertThat(first.next().text()).isEqualTo("ready");
+        Long id = scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(10, 0))).getId();
+        Event created = first.next();
+        assertThat(created.text()).isEqualTo("CREATED " + id);
+        unsubscribe.run();
+
+        // Missed while disconnected
+        scheduleService.updateScheduleStatus(id, Schedule.Status.REJECTED);
+
+        RecordingSubscriber resumed = new RecordingSubscriber();
+        Runnable unsubscribeResumed = changeFeed.subscribe(changeFeed.filter(date, null, null, null), created.id(),
+                resumed);
+        try {
+            assertThat(resumed.next().text()).isEqualTo("STATUS_CHANGED " + id + " REJECTED");
+        } finally {
+            unsubscribeResumed.run();
+        }
+    }
+
+    @Test
+    void subscribersResumingFromPurgedOrUnknownIdsAreToldToReset() throws Exception {
+        InMemoryCacheInvalidationTransport log = new InMemoryCacheInvalidationTransport();
+        ScheduleChangeFeed feed = new ScheduleChangeFeed(roomRepository, buildingRepository, log, 10, 100);
+        try {
+            // One more entry than the log keeps, so the first one is purged
+            for (int i = 0; i <= 10_000; i++) {
+                log.broadcast(new CacheInvalidation(Set.of(), Set.of(), Set.of(), Set.of(), List.of()));
+            }
+            RecordingSubscriber purged = new RecordingSubscriber();
+            RecordingSubscriber kept = new RecordingSubscriber();
+            RecordingSubscriber unknown = new RecordingSubscriber();
+            feed.subscribe(new ScheduleChangeFeed.Filter(null, null, null), "0", purged);
+            feed.subscribe(new ScheduleChangeFeed.Filter(null, null, null), "1", kept);
+            feed.subscribe(new ScheduleChangeFeed.Filter(null, null, null), "not-an-id-at-all", unknown);
+
+            assertThat(purged.next()).isEqualTo(new Event("reset", "10001"));
+            assertThat(unknown.next()).isEqualTo(new Event("reset", "10001"));
+            // Nothing after 1 was purged, and none of it matched
+            feed.heartbeat();
+            assertThat(kept.nextHeartbeat()).isEqualTo("10001");
+            assertThat(kept.events).isEmpty();
+        } finally {
+            feed.destroy();
+        }
+    }
+
+    @Test
+    void changesCommittedOnOtherNodesArePublishedUnderTheirLogIds() throws Exception {
+        InMemoryCacheInvalidationTransport otherNode = transport.connect();
+        LocalDate date = LocalDate.of(2039, 6, 6);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        Runnable unsubscribe = changeFeed.subscribe(changeFeed.filter(date, null, null, null), null, subscriber);
+        String position = subscriber.next().id();
+        long nextLogId = Long.parseLong(position) + 1;
+        // A client coming from a node further along the log, which already saw the first change
+        RecordingSubscriber ahead = new RecordingSubscriber();
+        Runnable unsubscribeAhead = changeFeed.subscribe(changeFeed.filter(date, null, null, null),
+                nextLogId + "-0", ahead);
+        try {
+            otherNode.broadcast(new CacheInvalidation(Set.of(801L, 802L), Set.of(date), Set.of(), Set.of(), List.of(
+                    new ScheduleChange(null, ScheduleChange.Type.CREATED, 801L, date, null, 1L, null, 1L,
+                            Schedule.Status.PENDING),
+                    new ScheduleChange(null, ScheduleChange.Type.DELETED, 802L, date, null, 1L, null, 1L,
+                            Schedule.Status.APPROVED))));
+
+            assertThat(subscriber.next()).isEqualTo(new Event("CREATED 801", nextLogId + "-0"));
+            assertThat(subscriber.next()).isEqualTo(new Event("DELETED 802", nextLogId + "-1"));
+            assertThat(ahead.next()).isEqualTo(new Event("DELETED 802", nextLogId + "-1"));
+        } finally {
+            unsubscribe.run();
+            unsubscribeAhead.run();
+        }
+
+        // Any node can resume from those ids
+        RecordingSubscriber resumed = new RecordingSubscriber();
+        Runnable unsubscribeResumed = changeFeed.subscribe(changeFeed.filter(date, null, null, null),
+                position, resumed);
+        try {
+            assertThat(resumed.next()).isEqualTo(new Event("CREATED 801", nextLogId + "-0"));
+            assertThat(resumed.next()).isEqualTo(new Event("DELETED 802", nextLogId + "-1"));
+        } finally {
+            unsubscribeResumed.run();
+        }
+    }
+
+    @Test
+    void heartbeatsCarryTheLogPositionOfEachSubscriber() throws Exception {
+        InMemoryCacheInvalidationTransport log = new InMemoryCacheInvalidationTransport();
+        ScheduleChangeFeed feed = new ScheduleChangeFeed(roomRepository, buildingRepository, log, 10, 100);
+        LocalDate date = LocalDate.of(2039, 7, 7);
+        try {
+            RecordingSubscriber idle = new RecordingSubscriber();
+            RecordingSubscriber ahead = new RecordingSubscriber();
+            feed.subscribe(new ScheduleChangeFeed.Filter(date, null, null), null, idle);
+            feed.subscribe(new ScheduleChangeFeed.Filter(date, null, null), "5-0", ahead);
+            assertThat(idle.next()).isEqualTo(new Event("ready", "0"));
+
+            // Matches neither, but moves both along the log
+            log.broadcast(new CacheInvalidation(Set.of(), Set.of(), Set.of(), Set.of(), List.of(
+                    new ScheduleChange(null, ScheduleChange.Type.CREATED, 901L, date.plusDays(1), null, 1L, null, 1L,
+                            Schedule.Status.PENDING))));
+            feed.heartbeat();
+
+            assertThat(idle.nextHeartbeat()).isEqualTo("1");
+            // Until this node catches up, a client from further along keeps its own position
+            assertThat(ahead.nextHeartbeat()).isEqualTo("5-0");
+        } finally {
+            feed.destroy();
+        }
+    }
+
+    @Test
+    void slowSubscribersAreClosedWithoutHoldingUpTheOthers() throws Exception {
+        InMemoryCacheInvalidationTransport log = new InMemoryCacheInvalidationTransport();
+        ScheduleChangeFeed feed = new ScheduleChangeFeed(roomRepository, buildingRepository, log, 10, 5);
+        LocalDate date = LocalDate.of(2039, 8, 8);
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingSubscriber slow = new RecordingSubscriber() {
+            @Override
+            public void send(ScheduleChange change) {
+                try {
+                    stuck.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RecordingSubscriber fast = new RecordingSubscriber();
+        try {
+            feed.subscribe(new ScheduleChangeFeed.Filter(date, null, null), null, slow);
+            feed.subscribe(new ScheduleChangeFeed.Filter(date, null, null), null, fast);
+            assertThat(fast.next().text()).isEqualTo("ready");
+
+            // The fast subscriber keeps up with every change while the slow one is stuck on the first
+            for (long id = 1; id <= 20; id++) {
+                log.broadcast(new CacheInvalidation(Set.of(id), Set.of(date), Set.of(), Set.of(), List.of(
+                        new ScheduleChange(null, ScheduleChange.Type.CREATED, id, date, null, 1L, null, 1L,
+                                Schedule.Status.PENDING))));
+                assertThat(fast.next()).isEqualTo(new Event("CREATED " + id, id + "-0"));
+            }
+
+            assertThat(slow.closed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(fast.closed.getCount()).isEqualTo(1);
+        } finally {
+            stuck.countDown();
+            feed.destroy();
+        }
+    }
+
+    private record Event(String text, String id) {
+    }
+
+    private static class RecordingSubscriber implements ScheduleChangeFeed.Subscriber {
+        private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        // Kept apart, since the scheduled heartbeat may come at any time
+        private final BlockingQueue<String> heartbeats = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void start(String position) {
+            events.add(new Event("ready", position));
+        }
+
+        @Override
+        public void send(ScheduleChange change) {
+            events.add(new Event(change.type() + " " + change.scheduleId()
+                    + (change.type() == ScheduleChange.Type.STATUS_CHANGED ? " " + change.status() : ""),
+                    change.id()));
+        }
+
+        @Override
+        public void reset(String position) {
+            events.add(new Event("reset", position));
+        }
+
+        @Override
+        public void heartbeat(String position) {
+            heartbeats.add(position);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        Event next() throws InterruptedException {
+            return events.poll(5, TimeUnit.SECONDS);
+        }
+
+        String nextHeartbeat() throws InterruptedException {
+            return heartbeats.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.model.Schedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleConflictIndexTests {
+
+    private static final LocalDate DATE = LocalDate.of(2034, 3, 6);
+
+    @Test
+    void overlappingFindsEveryIntervalSharingTimeWithTheRange() {
+        ScheduleConflictIndex.RoomDayIntervals intervals = ScheduleConflictIndex.RoomDayIntervals.of(List.of(
+                interval(1L, "08:00", "09:00"),
+                interval(2L, "09:00", "10:00"),
+                interval(3L, "10:30", "11:30"),
+                interval(4L, "13:00", "14:00")));
+
+        assertThat(ids(intervals.overlapping(seconds("09:30"), seconds("11:00"), null))).containsOnly(2L, 3L);
+        // Touching ranges do not overlap
+        assertThat(ids(intervals.overlapping(seconds("10:00"), seconds("10:30"), null))).isEmpty();
+        assertThat(ids(intervals.overlapping(seconds("07:00"), seconds("08:00"), null))).isEmpty();
+        assertThat(ids(intervals.overlapping(seconds("14:00"), seconds("15:00"), null))).isEmpty();
+        assertThat(ids(intervals.overlapping(seconds("07:00"), seconds("15:00"), null))).containsOnly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void overlappingComparesTheSlotsTheRangesReserve() {
+        ScheduleConflictIndex.RoomDayIntervals intervals = ScheduleConflictIndex.RoomDayIntervals.of(List.of(
+                interval(1L, "09:00", "09:52"),
+                interval(2L, "10:03", "11:00")));
+
+        // Both ranges take part of the 9:50 and 10:00 slots respectively
+        assertThat(ids(intervals.overlapping(seconds("09:53"), seconds("10:00"), null))).containsOnly(1L);
+        assertThat(ids(intervals.overlapping(seconds("09:55"), seconds("10:01"), null))).containsOnly(2L);
+        assertThat(ids(intervals.overlapping(seconds("09:55"), seconds("10:00"), null))).isEmpty();
+    }
+
+    @Test
+    void overlappingSkipsTheExcludedSchedule() {
+        ScheduleConflictIndex.RoomDayIntervals intervals = ScheduleConflictIndex.RoomDayIntervals.of(List.of(
+                interval(1L, "08:00", "09:00"),
+                interval(2L, "08:30", "09:30")));
+
+        assertThat(ids(intervals.overlapping(seconds("08:00"), seconds("09:00"), 1L))).containsOnly(2L);
+    }
+
+    @Test
+    void overlappingReachesBackPastShorterIntervalsToALongLegacyOne() {
+        // Legacy rows may overlap each other; the long one starts first and outlasts the short ones after it
+        ScheduleConflictIndex.RoomDayIntervals intervals = ScheduleConflictIndex.RoomDayIntervals.of(List.of(
+                interval(1L, "08:00", "17:00"),
+                interval(2L, "09:00", "09:30"),
+                interval(3L, "10:00", "10:30"),
+                interval(4L, "10:00", "11:00")));
+
+        assertThat(ids(intervals.overlapping(seconds("12:00"), seconds("12:30"), null))).containsOnly(1L);
+        assertThat(ids(intervals.overlapping(seconds("10:15"), seconds("10:45"), null))).containsOnly(1L, 3L, 4L);
+        assertThat(ids(intervals.overlapping(seconds("17:00"), seconds("18:00"), null))).isEmpty();
+    }
+
+    @Test
+    void withAndWithoutKeepTheIntervalsOrderedByStart() {
+        ScheduleConflictIndex.RoomDayIntervals intervals = ScheduleConflictIndex.RoomDayIntervals.of(List.of(
+                interval(1L, "10:00", "11:00"),
+                interval(2L, "08:00", "09:00")));
+
+        ScheduleConflictIndex.RoomDayIntervals added = intervals.with(interval(3L, "09:00", "12:00"));
+        assertThat(ids(added.intervals())).containsExactly(2L, 3L, 1L);
+        assertThat(ids(added.overlapping(seconds("11:30"), seconds("11:45"), null))).containsOnly(3L);
+
+        ScheduleConflictIndex.RoomDayIntervals removed = added.without(3L);
+        assertThat(ids(removed.intervals())).containsExactly(2L, 1L);
+        assertThat(removed.overlapping(seconds("11:30"), seconds("11:45"), null)).isEmpty();
+        assertThat(removed.without(1L).without(2L).isEmpty()).isTrue();
+    }
+
+    private static ScheduleConflictIndex.Interval interval(Long id, String start, String end) {
+        return new ScheduleConflictIndex.Interval(id, 1L, DATE, seconds(start), seconds(end),
+                Schedule.Status.APPROVED);
+    }
+
+    private static int seconds(String time) {
+        return LocalTime.parse(time).toSecondOfDay();
+    }
+
+    private static List<Long> ids(List<ScheduleConflictIndex.Interval> intervals) {
+        return intervals.stream().map(ScheduleConflictIndex.Interval::scheduleId).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package my.projects.classroomschedulerapp.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleExportServiceTests {
+
+    @Autowired
+    private ScheduleExportService scheduleExportService;
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void bothFormatsExportEveryScheduleInIdOrder() throws Exception {
+        Room room = roomRepository.findAll().get(0);
+        LocalDate date = LocalDate.of(2036, 1, 8);
+        for (int hour = 8; hour < 11; hour++) {
+            scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(hour, 0)));
+        }
+        List<ScheduleDto> expected = scheduleService.getAllSchedules().stream()
+                .sorted((first, second) -> Long.compare(first.getId(), second.getId()))
+                .toList();
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        scheduleExportService.exportSchedules(ScheduleExportService.Format.NDJSON, ndjson);
+        List<ScheduleDto> fromNdjson = new ArrayList<>();
+        for (String line : ndjson.toString(StandardCharsets.UTF_8).split("\n")) {
+            fromNdjson.add(objectMapper.readValue(line, ScheduleDto.class));
+        }
+        assertThat(fromNdjson).containsExactlyElementsOf(expected);
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        scheduleExportService.exportSchedules(ScheduleExportService.Format.JSON, json);
+        List<ScheduleDto> fromJson = objectMapper.readValue(json.toByteArray(), new TypeReference<>() {
+        });
+        assertThat(fromJson).containsExactlyElementsOf(expected);
+    }
+}
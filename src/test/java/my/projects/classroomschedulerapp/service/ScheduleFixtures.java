@@ -0,0 +1,49 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.model.User;
+import my.projects.classroomschedulerapp.repository.CourseRepository;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Builds schedule requests against the sample data, so that tests only spell out what they vary.
+// Found by component scanning, so tests autowiring it share the application context with the others.
+@Component
+class ScheduleFixtures {
+
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+
+    ScheduleFixtures(CourseRepository courseRepository, UserRepository userRepository) {
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+    }
+
+    // One hour booking of the first course by the first user
+    ScheduleDto booking(Room room, LocalDate date, LocalTime start) {
+        return booking(room, userRepository.findAll().get(0), date, start);
+    }
+
+    ScheduleDto booking(Room room, User user, LocalDate date, LocalTime start) {
+        return booking(room, user, date, start, start.plusHours(1));
+    }
+
+    ScheduleDto booking(Room room, LocalDate date, LocalTime start, LocalTime end) {
+        return booking(room, userRepository.findAll().get(0), date, start, end);
+    }
+
+    ScheduleDto booking(Room room, User user, LocalDate date, LocalTime start, LocalTime end) {
+        ScheduleDto booking = new ScheduleDto();
+        booking.setRoomId(room.getId());
+        booking.setUserId(user.getId());
+        booking.setCourseId(courseRepository.findAll().get(0).getId());
+        booking.setDate(date);
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        return booking;
+    }
+}
@@ -0,0 +1,109 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.BaseScheduleDto;
+import my.projects.classroomschedulerapp.dto.RecurrencePatternDto;
+import my.projects.classroomschedulerapp.dto.RecurringScheduleRequestDto;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.model.Course;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.model.User;
+import my.projects.classroomschedulerapp.repository.CourseRepository;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServiceBatchInsertTests {
+
+    private static final AtomicInteger INSERT_ROUND_TRIPS = new AtomicInteger();
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void recurringScheduleOf200DatesIsInsertedInJdbcBatches() {
+        Room room = roomRepository.findAll().get(0);
+        Course course = courseRepository.findAll().get(0);
+        User user = userRepository.findAll().get(0);
+        LocalDate startDate = LocalDate.of(2030, 1, 1);
+        RecurrencePatternDto pattern = new RecurrencePatternDto(startDate, startDate.plusDays(199),
+                List.of(0, 1, 2, 3, 4, 5, 6));
+        BaseScheduleDto baseSchedule = new BaseScheduleDto(room.getId(), null, user.getId(), null,
+                LocalTime.of(6, 0), LocalTime.of(6, 30), course.getId(), null, null, null);
+
+        INSERT_ROUND_TRIPS.set(0);
+        List<ScheduleDto> created = scheduleService.createRecurringSchedule(
+                new RecurringScheduleRequestDto(baseSchedule, pattern));
+
+        assertThat(created).hasSize(200);
+        // hibernate.jdbc.batch_size=30, so 200 rows need ceil(200 / 30) insert round trips
+        assertThat(INSERT_ROUND_TRIPS.get()).isEqualTo(7);
+    }
+
+    // Wraps the data source so that every JDBC round trip executing an INSERT into schedules is counted;
+    // a batch of rows sent with executeBatch counts once
+    @TestConfiguration
+    static class InsertCountingConfig {
+
+        @Bean
+        static BeanPostProcessor insertCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (instance, method, args) -> {
+                        Object result;
+                        try {
+                            result = method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        if (result instanceof Connection connection) {
+                            return proxy(Connection.class, connection);
+                        }
+                        if (result instanceof PreparedStatement statement
+                                && method.getName().equals("prepareStatement")
+                                && ((String) args[0]).toLowerCase(Locale.ROOT).startsWith("insert into schedules ")) {
+                            return proxy(PreparedStatement.class, statement);
+                        }
+                        if (type == PreparedStatement.class && (method.getName().equals("executeBatch")
+                                || method.getName().equals("executeUpdate") || method.getName().equals("execute"))) {
+                            INSERT_ROUND_TRIPS.incrementAndGet();
+                        }
+                        return result;
+                    }));
+        }
+    }
+}
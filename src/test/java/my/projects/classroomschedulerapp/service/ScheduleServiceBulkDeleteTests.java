@@ -0,0 +1,57 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.BatchDeleteResultDto;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.ScheduleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServiceBulkDeleteTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void batchDeleteReportsMissingIdsAndFreesTheSlots() {
+        Room room = roomRepository.findAll().get(1);
+        LocalDate date = LocalDate.of(2038, 3, 1);
+        List<Long> ids = new ArrayList<>();
+        for (int hour = 8; hour < 11; hour++) {
+            ids.add(scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(hour, 0))).getId());
+        }
+        assertThat(scheduleService.getSchedulesByDate(date)).hasSize(3);
+
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(ids.get(1));
+        requested.add(Long.MAX_VALUE);
+        BatchDeleteResultDto result = scheduleService.deleteSchedulesBatch(requested);
+
+        assertThat(result.getRequested()).isEqualTo(4);
+        assertThat(result.getDeleted()).isEqualTo(3);
+        assertThat(result.getMissingIds()).containsExactly(Long.MAX_VALUE);
+        assertThat(scheduleRepository.findAllById(ids)).isEmpty();
+        assertThat(scheduleService.getSchedulesByDate(date)).isEmpty();
+        // The released slots and index entries let the same times be booked again
+        assertThat(scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(8, 0))).getId())
+                .isNotNull();
+    }
+}
@@ -0,0 +1,73 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.BatchStatusUpdateResultDto;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.model.Schedule;
+import my.projects.classroomschedulerapp.model.User;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.ScheduleRepository;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServiceBulkStatusTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void bulkStatusUpdateWritesAuditColumnsAndEvictsCachedViews() {
+        User admin = userRepository.findByEmail("admin@college.edu").orElseThrow();
+        Room room = roomRepository.findAll().get(0);
+        User user = userRepository.findAll().get(1);
+        LocalDate date = LocalDate.of(2037, 9, 14);
+        List<Long> ids = new ArrayList<>();
+        for (int hour = 8; hour < 11; hour++) {
+            ids.add(scheduleService.createSchedule(fixtures.booking(room, user, date, LocalTime.of(hour, 0))).getId());
+        }
+        // Cache the pending views that the update has to evict
+        assertThat(scheduleService.getScheduleById(ids.get(0)).getStatus()).isEqualTo(Schedule.Status.PENDING);
+        assertThat(scheduleService.getSchedulesByDate(date)).hasSize(3);
+        long version = scheduleRepository.findById(ids.get(0)).orElseThrow().getVersion();
+
+        List<Long> requested = new ArrayList<>(ids);
+        requested.add(ids.get(0));
+        requested.add(Long.MAX_VALUE);
+        BatchStatusUpdateResultDto result = scheduleService.updateScheduleStatusBatchSummary(
+                requested, Schedule.Status.APPROVED, admin);
+
+        assertThat(result.getRequested()).isEqualTo(4);
+        assertThat(result.getUpdated()).isEqualTo(3);
+        assertThat(result.getUpdatedIds()).containsExactlyInAnyOrderElementsOf(ids);
+        Schedule updated = scheduleRepository.findById(ids.get(0)).orElseThrow();
+        assertThat(updated.getVersion()).isEqualTo(version + 1);
+        assertThat(updated.getUpdatedByEmail()).isEqualTo(admin.getEmail());
+        assertThat(scheduleService.getScheduleById(ids.get(0)).getStatus()).isEqualTo(Schedule.Status.APPROVED);
+        assertThat(scheduleService.getSchedulesByDate(date)).extracting(ScheduleDto::getStatus)
+                .containsOnly(Schedule.Status.APPROVED);
+
+        List<ScheduleDto> rejected = scheduleService.updateScheduleStatusBatch(ids, Schedule.Status.REJECTED, admin);
+        assertThat(rejected).extracting(ScheduleDto::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(rejected).extracting(ScheduleDto::getStatus).containsOnly(Schedule.Status.REJECTED);
+    }
+}
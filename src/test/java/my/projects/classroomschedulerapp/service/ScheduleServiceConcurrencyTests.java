@@ -0,0 +1,118 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.exception.ScheduleConflictException;
+import my.projects.classroomschedulerapp.model.Course;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.model.User;
+import my.projects.classroomschedulerapp.repository.CourseRepository;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServiceConcurrencyTests {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentOverlappingBookingsOfOneRoomDayAdmitExactlyOne() throws Exception {
+        Room room = roomRepository.findAll().get(0);
+        Course course = courseRepository.findAll().get(0);
+        User user = userRepository.findAll().get(0);
+        LocalDate date = LocalDate.of(2031, 3, 3);
+
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<ScheduleDto>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                // Every booking overlaps every other one by at least 30 minutes
+                LocalTime startTime = LocalTime.of(9, 0).plusMinutes(5L * i);
+                ScheduleDto booking = new ScheduleDto();
+                booking.setRoomId(room.getId());
+                booking.setUserId(user.getId());
+                booking.setCourseId(course.getId());
+                booking.setDate(date);
+                booking.setStartTime(startTime);
+                booking.setEndTime(startTime.plusMinutes(60));
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return scheduleService.createSchedule(booking);
+                }));
+            }
+
+            int created = 0;
+            int rejected = 0;
+            for (Future<ScheduleDto> result : results) {
+                try {
+                    result.get();
+                    created++;
+                } catch (Exception e) {
+                    assertThat(e.getCause()).isInstanceOf(ScheduleConflictException.class);
+                    rejected++;
+                }
+            }
+            assertThat(created).isEqualTo(1);
+            assertThat(rejected).isEqualTo(THREADS - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentBookingsOfDifferentRoomDaysAllSucceed() throws Exception {
+        Room room = roomRepository.findAll().get(0);
+        Course course = courseRepository.findAll().get(0);
+        User user = userRepository.findAll().get(0);
+        LocalDate firstDate = LocalDate.of(2031, 4, 1);
+
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<ScheduleDto>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                ScheduleDto booking = new ScheduleDto();
+                booking.setRoomId(room.getId());
+                booking.setUserId(user.getId());
+                booking.setCourseId(course.getId());
+                booking.setDate(firstDate.plusDays(i));
+                booking.setStartTime(LocalTime.of(9, 0));
+                booking.setEndTime(LocalTime.of(10, 0));
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return scheduleService.createSchedule(booking);
+                }));
+            }
+            for (Future<ScheduleDto> result : results) {
+                assertThat(result.get().getId()).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
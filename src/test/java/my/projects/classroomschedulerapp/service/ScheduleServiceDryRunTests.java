@@ -0,0 +1,112 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.ScheduleConflictReportDto;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.exception.ScheduleConflictException;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServiceDryRunTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void dryRunReportsConflictsWithExistingSchedulesAndOtherCandidates() {
+        Room room = roomRepository.findAll().get(5);
+        LocalDate date = LocalDate.of(2042, 2, 3);
+        ScheduleDto existing = scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(9, 0)));
+
+        List<ScheduleConflictReportDto> reports = scheduleService.checkScheduleConflictsBatch(List.of(
+                fixtures.booking(room, date, LocalTime.of(9, 30)),
+                fixtures.booking(room, date, LocalTime.of(10, 0)),
+                fixtures.booking(room, date, LocalTime.of(10, 30)),
+                fixtures.booking(room, date, LocalTime.of(12, 0)),
+                fixtures.booking(room, date.plusDays(1), LocalTime.of(9, 0))));
+
+        assertThat(reports).extracting(ScheduleConflictReportDto::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(reports.get(0).getConflictingScheduleIds()).containsExactly(existing.getId());
+        assertThat(reports.get(0).getConflictingCandidates()).containsExactly(1);
+        assertThat(reports.get(1).getConflictingScheduleIds()).isEmpty();
+        assertThat(reports.get(1).getConflictingCandidates()).containsExactly(0, 2);
+        assertThat(reports.get(2).getConflictingCandidates()).containsExactly(1);
+        assertThat(reports.subList(3, 5)).noneMatch(ScheduleConflictReportDto::isConflicting);
+        assertThat(reports).allMatch(ScheduleConflictReportDto::isValid);
+        // Nothing is written by the dry run
+        assertThat(scheduleService.getSchedulesByDate(date)).hasSize(1);
+    }
+
+    @Test
+    void dryRunAndBatchCreationAgreeOnPartiallySharedSlots() {
+        Room room = roomRepository.findAll().get(5);
+        LocalDate date = LocalDate.of(2042, 2, 10);
+        ScheduleDto existing = fixtures.booking(room, date, LocalTime.of(9, 0));
+        existing.setEndTime(LocalTime.of(9, 52));
+        existing = scheduleService.createSchedule(existing);
+        ScheduleDto sharingASlot = fixtures.booking(room, date, LocalTime.of(9, 53));
+        sharingASlot.setEndTime(LocalTime.of(10, 0));
+
+        List<ScheduleConflictReportDto> reports = scheduleService.checkScheduleConflictsBatch(List.of(sharingASlot));
+
+        assertThat(reports.get(0).getConflictingScheduleIds()).containsExactly(existing.getId());
+        assertThatThrownBy(() -> scheduleService.createSchedulesBatch(List.of(sharingASlot)))
+                .isInstanceOf(ScheduleConflictException.class)
+                .hasMessageStartingWith("Schedule conflicts detected for 1 schedule(s) in the batch:");
+    }
+
+    @Test
+    void dryRunReportsInvalidCandidatesWithoutCheckingThem() {
+        Room room = roomRepository.findAll().get(5);
+        LocalDate date = LocalDate.of(2042, 3, 3);
+        ScheduleDto inverted = fixtures.booking(room, date, LocalTime.of(9, 0));
+        inverted.setEndTime(LocalTime.of(8, 0));
+        ScheduleDto unknownRoom = fixtures.booking(room, date, LocalTime.of(9, 0));
+        unknownRoom.setRoomId(Long.MAX_VALUE);
+        ScheduleDto unknownUser = fixtures.booking(room, date, LocalTime.of(9, 0));
+        unknownUser.setUserId(Long.MAX_VALUE);
+
+        List<ScheduleConflictReportDto> reports = scheduleService.checkScheduleConflictsBatch(
+                List.of(inverted, unknownRoom, unknownUser, fixtures.booking(room, date, LocalTime.of(9, 30))));
+
+        assertThat(reports.get(0).getErrors()).containsExactly("Start time must be before end time");
+        assertThat(reports.get(1).getErrors()).containsExactly("Room not found with id: " + Long.MAX_VALUE);
+        assertThat(reports.get(2).getErrors()).containsExactly("User not found with id: " + Long.MAX_VALUE);
+        assertThat(reports).extracting(ScheduleConflictReportDto::isValid).containsExactly(false, false, false, true);
+        // A candidate with a known room and a sane time range is still checked for overlaps
+        assertThat(reports.get(2).getConflictingCandidates()).containsExactly(3);
+        assertThat(reports.get(3).getConflictingCandidates()).containsExactly(2);
+        assertThat(reports.get(0).isConflicting()).isFalse();
+        assertThat(reports.get(1).isConflicting()).isFalse();
+    }
+
+    @Test
+    void dryRunOfAnUpdateIgnoresTheScheduleItReplaces() {
+        Room room = roomRepository.findAll().get(5);
+        LocalDate date = LocalDate.of(2042, 4, 7);
+        ScheduleDto existing = scheduleService.createSchedule(fixtures.booking(room, date, LocalTime.of(9, 0)));
+        ScheduleDto moved = fixtures.booking(room, date, LocalTime.of(9, 30));
+        moved.setId(existing.getId());
+
+        List<ScheduleConflictReportDto> reports = scheduleService.checkScheduleConflictsBatch(List.of(moved));
+
+        assertThat(reports.get(0).isConflicting()).isFalse();
+        assertThat(reports.get(0).isValid()).isTrue();
+    }
+}
@@ -0,0 +1,69 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.model.User;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServiceDtoMappingTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void batchResultsResolveUserNamesInBulkAndCacheThem() {
+        List<User> users = userRepository.findAll();
+        User first = users.get(0);
+        User second = users.get(1);
+        LocalDate date = LocalDate.of(2034, 2, 6);
+        Cache userDetails = cacheManager.getCache("userDetails");
+        userDetails.clear();
+
+        List<ScheduleDto> schedules = scheduleService.createSchedulesBatch(List.of(
+                fixtures.booking(roomRepository.findAll().get(0), first, date, LocalTime.of(7, 0)),
+                fixtures.booking(roomRepository.findAll().get(1), second, date, LocalTime.of(9, 0))));
+
+        assertThat(schedules).extracting(ScheduleDto::getCreatedByName)
+                .containsExactly(first.getName(), second.getName());
+        assertThat(schedules).extracting(ScheduleDto::getUpdatedByName)
+                .containsExactly(first.getName(), second.getName());
+        assertThat(userDetails.get(first.getEmail(), String.class)).isEqualTo(first.getName());
+        assertThat(userDetails.get(second.getEmail(), String.class)).isEqualTo(second.getName());
+    }
+
+    @Test
+    void listingsMatchTheEntityMapping() {
+        User user = userRepository.findAll().get(1);
+        LocalDate date = LocalDate.of(2034, 3, 7);
+        ScheduleDto created = scheduleService.createSchedule(
+                fixtures.booking(roomRepository.findAll().get(2), user, date, LocalTime.of(10, 0)));
+        ScheduleDto single = scheduleService.getScheduleById(created.getId());
+
+        assertThat(scheduleService.getSchedulesByDate(date)).containsExactly(single);
+        assertThat(scheduleService.getSchedulesByUser(user.getId())).contains(single);
+        assertThat(scheduleService.getSchedulesByEmail(user.getEmail())).contains(single);
+        assertThat(scheduleService.getAllSchedules()).contains(single);
+    }
+}
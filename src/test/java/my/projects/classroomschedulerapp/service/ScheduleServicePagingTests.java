@@ -0,0 +1,84 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.dto.SchedulePageDto;
+import my.projects.classroomschedulerapp.dto.SchedulePageRequestDto;
+import my.projects.classroomschedulerapp.exception.InvalidRequestException;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServicePagingTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void pagesWalkTheFilteredListingInOrderWithoutGapsOrRepeats() {
+        Room room = roomRepository.findAll().get(4);
+        LocalDate firstDate = LocalDate.of(2035, 4, 2);
+        LocalDate secondDate = firstDate.plusDays(1);
+        List<Long> expected = new ArrayList<>();
+        // Created out of order, so the listing order has to come from the query
+        for (LocalDate date : List.of(secondDate, firstDate)) {
+            for (int hour : new int[]{13, 8, 10}) {
+                expected.add(scheduleService.createSchedule(
+                        fixtures.booking(room, date, LocalTime.of(hour, 0))).getId());
+            }
+        }
+        // Outside the date range
+        scheduleService.createSchedule(fixtures.booking(room, secondDate.plusDays(1), LocalTime.of(8, 0)));
+
+        SchedulePageRequestDto request = new SchedulePageRequestDto();
+        request.setRoomId(room.getId());
+        request.setStartDate(firstDate);
+        request.setEndDate(secondDate);
+        request.setLimit(4);
+        List<ScheduleDto> listed = new ArrayList<>();
+        int pages = 0;
+        do {
+            SchedulePageDto page = scheduleService.getSchedulesPage(request);
+            listed.addAll(page.getSchedules());
+            request.setCursor(page.getNextCursor());
+            pages++;
+        } while (request.getCursor() != null);
+
+        assertThat(pages).isEqualTo(2);
+        assertThat(listed).extracting(ScheduleDto::getId).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(listed).extracting(ScheduleDto::getDate, ScheduleDto::getStartTime)
+                .containsExactly(tuple(firstDate, LocalTime.of(8, 0)), tuple(firstDate, LocalTime.of(10, 0)),
+                        tuple(firstDate, LocalTime.of(13, 0)), tuple(secondDate, LocalTime.of(8, 0)),
+                        tuple(secondDate, LocalTime.of(10, 0)), tuple(secondDate, LocalTime.of(13, 0)));
+    }
+
+    @Test
+    void invalidPageRequestsAreRejected() {
+        SchedulePageRequestDto tooLarge = new SchedulePageRequestDto();
+        tooLarge.setLimit(100_000);
+        assertThatThrownBy(() -> scheduleService.getSchedulesPage(tooLarge))
+                .isInstanceOf(InvalidRequestException.class);
+
+        SchedulePageRequestDto badCursor = new SchedulePageRequestDto();
+        badCursor.setCursor("not a cursor");
+        assertThatThrownBy(() -> scheduleService.getSchedulesPage(badCursor))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package my.projects.classroomschedulerapp.service;
+
+import my.projects.classroomschedulerapp.dto.BaseScheduleDto;
+import my.projects.classroomschedulerapp.dto.RecurrencePatternDto;
+import my.projects.classroomschedulerapp.dto.RecurringScheduleRequestDto;
+import my.projects.classroomschedulerapp.dto.ScheduleDto;
+import my.projects.classroomschedulerapp.exception.ScheduleConflictException;
+import my.projects.classroomschedulerapp.model.Room;
+import my.projects.classroomschedulerapp.repository.CourseRepository;
+import my.projects.classroomschedulerapp.repository.RoomRepository;
+import my.projects.classroomschedulerapp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ScheduleServiceRecurringTests {
+
+    @Autowired
+    private ScheduleService scheduleService;
+    @Autowired
+    private ScheduleFixtures fixtures;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void recurringScheduleReportsEveryConflictingDateAndWritesNothing() {
+        Room room = roomRepository.findAll().get(2);
+        LocalDate start = LocalDate.of(2041, 5, 2);
+        scheduleService.createSchedule(
+                fixtures.booking(room, start.plusDays(1), LocalTime.of(9, 30), LocalTime.of(10, 30)));
+        // Ends inside the first slot of the pattern's last hour, so the slots collide on a partial slot
+        scheduleService.createSchedule(
+                fixtures.booking(room, start.plusDays(3), LocalTime.of(8, 0), LocalTime.of(9, 2)));
+
+        assertThatThrownBy(() -> scheduleService.createRecurringSchedule(
+                recurring(room, start, start.plusDays(4), LocalTime.of(9, 0), LocalTime.of(10, 0))))
+                .isInstanceOf(ScheduleConflictException.class)
+                .hasMessageStartingWith("Room " + room.getRoomNumber() + " has scheduling conflicts:")
+                .satisfies(e -> assertThat(e.getMessage().split("\n• ")).hasSize(3));
+
+        assertThat(scheduleService.getSchedulesByDate(start)).isEmpty();
+        assertThat(scheduleService.getSchedulesByDate(start.plusDays(2))).isEmpty();
+    }
+
+    @Test
+    void recurringScheduleTouchingExistingBookingsIsCreated() {
+        Room room = roomRepository.findAll().get(2);
+        LocalDate start = LocalDate.of(2041, 6, 6);
+        scheduleService.createSchedule(
+                fixtures.booking(room, start.plusDays(2), LocalTime.of(10, 0), LocalTime.of(11, 0)));
+        scheduleService.createSchedule(
+                fixtures.booking(room, start.plusDays(3), LocalTime.of(8, 0), LocalTime.of(9, 0)));
+
+        List<ScheduleDto> created = scheduleService.createRecurringSchedule(
+                recurring(room, start, start.plusDays(4), LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+        assertThat(created).hasSize(5);
+        assertThat(scheduleService.getSchedulesByDate(start.plusDays(2))).hasSize(2);
+    }
+
+    private RecurringScheduleRequestDto recurring(Room room, LocalDate startDate, LocalDate endDate,
+                                                  LocalTime startTime, LocalTime endTime) {
+        BaseScheduleDto base = new BaseScheduleDto();
+        base.setRoomId(room.getId());
+        base.setUserId(userRepository.findAll().get(0).getId());
+        base.setCourseId(courseRepository.findAll().get(0).getId());
+        base.setStartTime(startTime);
+        base.setEndTime(endTime);
+        return new RecurringScheduleRequestDto(base,
+                new RecurrencePatternDto(startDate, endDate, List.of(0, 1, 2, 3, 4, 5, 6)));
+    }
+}